@@ -0,0 +1,115 @@
+package com.greenfoxacademy.goddesstribesbackend.controllers;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildQueueDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildQueueEntryDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildQueueRequestDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.ErrorMessage;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.BuildQueueEntry;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.services.BuildQueueService;
+import com.greenfoxacademy.goddesstribesbackend.services.BuildingService;
+import com.greenfoxacademy.goddesstribesbackend.services.KingdomService;
+import com.greenfoxacademy.goddesstribesbackend.services.ProductionService;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+public class BuildQueueController {
+
+  private KingdomService kingdomService;
+  private ProductionService productionService;
+  private BuildingService buildingService;
+  private BuildQueueService buildQueueService;
+
+  @Autowired
+  public BuildQueueController(KingdomService kingdomService, ProductionService productionService,
+                              BuildingService buildingService, BuildQueueService buildQueueService) {
+    this.kingdomService = kingdomService;
+    this.productionService = productionService;
+    this.buildingService = buildingService;
+    this.buildQueueService = buildQueueService;
+  }
+
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildQueueDTO.class)})
+  @GetMapping("/kingdom/buildings/queue")
+  public ResponseEntity<Object> listBuildQueue() {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    return ResponseEntity.status(200).body(buildQueueService.createBuildQueueDTO(kingdom.getId()));
+  }
+
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildQueueEntryDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): type or buildingId and level!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "No building with such id found in your kingdom!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid building type or level", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Build queue is full or not enough resource", response = ErrorMessage.class)})
+  @PostMapping("/kingdom/buildings/queue")
+  public ResponseEntity<Object> enqueue(@RequestBody BuildQueueRequestDTO buildQueueRequestDTO) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    kingdomService.materializeKingdom(kingdom);
+    Long buildingId = buildQueueRequestDTO.getBuildingId();
+    String type = buildQueueRequestDTO.getType();
+
+    if (buildingId == null && (type == null || type.isEmpty())) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): type or buildingId and level!"));
+    }
+
+    if (buildingId != null && buildQueueRequestDTO.getLevel() == null) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): <level>!"));
+    }
+
+    Building building = null;
+    if (buildingId != null) {
+      building = buildingService.findBuildingByKingdomAndBuildingId(kingdom.getId(), buildingId);
+      if (building == null) {
+        return ResponseEntity.status(404).body(new ErrorMessage("No building with such id found in your kingdom!"));
+      }
+      if (!buildQueueService.isValidQueuedLevel(kingdom.getId(), building, buildQueueRequestDTO.getLevel())) {
+        return ResponseEntity.status(406).body(new ErrorMessage("Invalid building level: can upgrade only 1 grade at a time after the queued upgrades, and other buildings level must be less than or equal with townhall level!"));
+      }
+    } else if (!buildingService.isValidNewBuildingType(type)) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid building type"));
+    }
+
+    if (buildQueueService.isQueueFull(kingdom.getId())) {
+      return ResponseEntity.status(409).body(new ErrorMessage("Build queue is full!"));
+    }
+
+    int cost = building == null
+        ? buildingService.findCreationCost(type) : buildingService.findUpgradeCost(building.getType(), buildQueueRequestDTO.getLevel());
+    productionService.updateResources(kingdom.getId());
+    BuildQueueEntry entry = building == null
+        ? buildQueueService.enqueueBuilding(kingdom, BuildingTypeENUM.valueOf(type.toUpperCase()), cost)
+        : buildQueueService.enqueueUpgrade(kingdom, building, buildQueueRequestDTO.getLevel(), cost);
+    if (entry == null) {
+      return ResponseEntity.status(409).body(new ErrorMessage(buildQueueService.isQueueFull(kingdom.getId())
+          ? "Build queue is full!" : "Not enough resource!"));
+    }
+    return ResponseEntity.status(200).body(buildQueueService.createBuildQueueEntryDTO(entry));
+  }
+
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildQueueDTO.class), @ApiResponse(code = 404, message = "No queued build with such id found in your kingdom!", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Queued build has already started!", response = ErrorMessage.class)})
+  @DeleteMapping("/kingdom/buildings/queue/{id}")
+  public ResponseEntity<Object> cancel(@PathVariable Long id) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+
+    if (buildQueueService.findEntryByKingdomAndEntryId(kingdom.getId(), id) == null) {
+      return ResponseEntity.status(404).body(new ErrorMessage("No queued build with such id found in your kingdom!"));
+    }
+
+    if (!buildQueueService.cancelEntry(kingdom.getId(), id)) {
+      return ResponseEntity.status(409).body(new ErrorMessage("Queued build has already started!"));
+    }
+    return ResponseEntity.status(200).body(buildQueueService.createBuildQueueDTO(kingdom.getId()));
+  }
+
+}
@@ -15,6 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 public class BuildingController {
 
@@ -55,14 +58,51 @@ public class BuildingController {
       return ResponseEntity.status(406).body(new ErrorMessage("Invalid building type"));
     }
 
-    if (!productionService.isEnoughMoneyToCreateBuilding(kingdom.getId())) {
+    kingdomService.materializeKingdom(kingdom);
+    productionService.updateResources(kingdom.getId());
+    Building building = productionService.purchaseBuilding(kingdom, type);
+    if (building == null) {
       return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource"));
     }
-
-    Building building = buildingService.createBuilding(kingdom, type);
     return ResponseEntity.status(200).body(buildingService.createBuildingDTO(building));
   }
 
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildingsDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): types!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid building type", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource", response = ErrorMessage.class)})
+  @PostMapping("/kingdom/buildings/batch")
+  public ResponseEntity<Object> createBuildings(@RequestBody BuildingBatchDTO buildingBatchDTO) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    List<String> types = buildingBatchDTO.getTypes();
+
+    if (types == null || types.isEmpty()) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): types!"));
+    }
+
+    if (types.size() > Building.MAX_BATCH_SIZE) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Too many buildings: at most " + Building.MAX_BATCH_SIZE + " per batch!"));
+    }
+
+    for (String type : types) {
+      if (!buildingService.isValidNewBuildingType(type)) {
+        return ResponseEntity.status(406).body(new ErrorMessage("Invalid building type"));
+      }
+    }
+
+    kingdomService.materializeKingdom(kingdom);
+    productionService.updateResources(kingdom.getId());
+    ArrayList<Building> buildings = productionService.purchaseBuildings(kingdom, types);
+    if (buildings == null) {
+      return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource"));
+    }
+
+    BuildingsDTO buildingsDTO = new BuildingsDTO(new ArrayList<>());
+    for (Building building : buildings) {
+      buildingsDTO.add(buildingService.createBuildingDTO(building));
+    }
+    return ResponseEntity.status(200).body(buildingsDTO);
+  }
+
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
   @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildingDTO.class), @ApiResponse(code = 409, message = "No building with such id found in your kingdom!", response = ErrorMessage.class)})
   @GetMapping("/kingdom/buildings/{id}")
@@ -77,12 +117,51 @@ public class BuildingController {
     return ResponseEntity.status(200).body(buildingService.createBuildingDTO(building));
   }
 
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildingUpgradeSummaryDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): type, level!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "No building of such type can be upgraded to this level!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid building type", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource", response = ErrorMessage.class)})
+  @PutMapping("/kingdom/buildings")
+  public ResponseEntity<Object> changeBuildingLevels(@RequestParam(required = false) String type,
+                                                     @RequestParam(required = false) Integer level) {
+    if (type == null || type.isEmpty() || level == null) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): type, level!"));
+    }
+
+    if (!buildingService.isValidNewBuildingType(type)) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid building type"));
+    }
+
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    kingdomService.materializeKingdom(kingdom);
+    BuildingTypeENUM buildingType = BuildingTypeENUM.valueOf(type.toUpperCase());
+
+    if (!buildingService.isValidLevel(level, level - 1, kingdom.getId(), buildingType)) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid building level: can upgrade only 1 grade at a time, and other buildings level must be less than or equal with townhall level!"));
+    }
+
+    List<Long> buildingIds = buildingService.findUpgradableBuildingIds(kingdom.getId(), buildingType, level);
+    if (buildingIds.isEmpty()) {
+      return ResponseEntity.status(404).body(new ErrorMessage("No building of such type can be upgraded to this level!"));
+    }
+
+    productionService.updateResources(kingdom.getId());
+    BuildingUpgradeSummaryDTO summary = productionService.purchaseBuildingUpgrades(kingdom, buildingType, level, buildingIds);
+    if (summary == null) {
+      return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource!"));
+    }
+    if (summary.getUpgraded() == 0) {
+      return ResponseEntity.status(404).body(new ErrorMessage("No building of such type can be upgraded to this level!"));
+    }
+    return ResponseEntity.status(200).body(summary);
+  }
+
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
   @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = BuildingDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): level!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "No building with such id found in your kingdom!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid building level:can upgrade only 1 grade at a time, must be less than or equal with townhall level!", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource", response = ErrorMessage.class)})
   @PutMapping("/kingdom/buildings/{id}")
   public ResponseEntity<Object> changeBuildingLevel(@PathVariable Long id, @RequestBody LevelDTO levelDTO) {
     String username = SecurityContextHolder.getContext().getAuthentication().getName();
     Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    kingdomService.materializeKingdom(kingdom);
     Building buildingToUpgrade = buildingService.findBuildingByKingdomAndBuildingId(kingdom.getId(), id);
 
     if (levelDTO.getLevel() == null) {
@@ -97,21 +176,11 @@ public class BuildingController {
       return ResponseEntity.status(406).body(new ErrorMessage("Invalid building level: can upgrade only 1 grade at a time, and other buildings level must be less than or equal with townhall level!"));
     }
 
-    if (!productionService.isEnoughMoneyToUpgradeBuilding(kingdom.getId(), id)) {
+    productionService.updateResources(kingdom.getId());
+    Building upgradedBuilding = productionService.purchaseBuildingUpgrade(kingdom, buildingToUpgrade, levelDTO.getLevel());
+    if (upgradedBuilding == null) {
       return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource!"));
     }
-
-    if (buildingToUpgrade.getType().equals(BuildingTypeENUM.TOWNHALL)) {
-      Townhall upgradedTownhall = buildingService.upgradeTownhall(kingdom.getId(), id, levelDTO.getLevel());
-      return ResponseEntity.status(200).body(buildingService.createBuildingDTO(upgradedTownhall));
-    }
-
-    if (buildingToUpgrade.getType().equals(BuildingTypeENUM.MINE) || buildingToUpgrade.getType().equals(BuildingTypeENUM.FARM)) {
-      ProductionBuilding upgradedProductionBuilding = buildingService.upgradeProductionBuilding(kingdom.getId(), id, levelDTO.getLevel());
-      return ResponseEntity.status(200).body(buildingService.createBuildingDTO(upgradedProductionBuilding));
-    }
-
-    Building upgradedBuilding = buildingService.upgradeBuilding(kingdom.getId(), id, levelDTO.getLevel());
     return ResponseEntity.status(200).body(buildingService.createBuildingDTO(upgradedBuilding));
   }
 
@@ -3,8 +3,10 @@ package com.greenfoxacademy.goddesstribesbackend.controllers;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.ErrorMessage;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.KingdomDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.KingdomNameDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.StatusOkMessage;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.services.KingdomService;
+import com.greenfoxacademy.goddesstribesbackend.services.KingdomTeardownService;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiResponse;
@@ -18,10 +20,12 @@ import org.springframework.web.bind.annotation.*;
 public class KingdomController {
 
   private KingdomService kingdomService;
+  private KingdomTeardownService kingdomTeardownService;
 
   @Autowired
-  public KingdomController(KingdomService kingdomService) {
+  public KingdomController(KingdomService kingdomService, KingdomTeardownService kingdomTeardownService) {
     this.kingdomService = kingdomService;
+    this.kingdomTeardownService = kingdomTeardownService;
   }
 
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
@@ -49,6 +53,20 @@ public class KingdomController {
     return ResponseEntity.status(200).body(kingdomService.createKingdomDTO(renamedKingdom));
   }
 
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "Kingdom deleted.", response = StatusOkMessage.class), @ApiResponse(code = 404, message = "No kingdom found!", response = ErrorMessage.class)})
+  @DeleteMapping("/kingdom")
+  public ResponseEntity<Object> deleteOwnKingdom() {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+
+    if (kingdom == null || !kingdomTeardownService.deleteKingdom(kingdom.getId())) {
+      return ResponseEntity.status(404).body(new ErrorMessage("No kingdom found!"));
+    }
+
+    return ResponseEntity.status(200).body(new StatusOkMessage("Kingdom deleted."));
+  }
+
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
   @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = KingdomDTO.class), @ApiResponse(code = 404, message = "No kingdom with such id found!", response = ErrorMessage.class)})
   @GetMapping("/kingdom/{id}")
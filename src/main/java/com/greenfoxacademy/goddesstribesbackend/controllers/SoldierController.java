@@ -1,74 +1,174 @@
 package com.greenfoxacademy.goddesstribesbackend.controllers;
 
-import com.greenfoxacademy.goddesstribesbackend.models.MockData;
-import com.greenfoxacademy.goddesstribesbackend.models.dtos.ErrorMessage;
-import com.greenfoxacademy.goddesstribesbackend.models.dtos.LevelDTO;
-import com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldierDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.*;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.TrainingOrder;
+import com.greenfoxacademy.goddesstribesbackend.services.KingdomService;
+import com.greenfoxacademy.goddesstribesbackend.services.ProductionService;
+import com.greenfoxacademy.goddesstribesbackend.services.SoldierService;
+import com.greenfoxacademy.goddesstribesbackend.services.TrainingService;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 public class SoldierController {
 
+  private KingdomService kingdomService;
+  private ProductionService productionService;
+  private SoldierService soldierService;
+  private TrainingService trainingService;
+
+  @Autowired
+  public SoldierController(KingdomService kingdomService, ProductionService productionService,
+                           SoldierService soldierService, TrainingService trainingService) {
+    this.kingdomService = kingdomService;
+    this.productionService = productionService;
+    this.soldierService = soldierService;
+    this.trainingService = trainingService;
+  }
+
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
-  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class)})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldiersDTO.class)})
   @GetMapping("/kingdom/soldiers")
-  public ResponseEntity<Object> mockListOfSoldiers() {
-    return ResponseEntity.status(200).body(MockData.soldiersDTO);
+  public ResponseEntity<Object> listOfSoldiers() {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    return ResponseEntity.status(200).body(soldierService.createSoldiersDTO(kingdom.getId()));
   }
 
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
-  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class), @ApiResponse(code = 409, message = "Not enough resource")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = TrainingOrderDTO.class), @ApiResponse(code = 404, message = "No barrack found in your kingdom!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid soldier quantity", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Training queue is full or not enough resource", response = ErrorMessage.class)})
   @PostMapping("/kingdom/soldiers")
-  public ResponseEntity<Object> mockTrainANewSoldier() {
+  public ResponseEntity<Object> trainSoldiers(@RequestBody(required = false) TrainingRequestDTO trainingRequestDTO) {
+    int quantity = trainingRequestDTO == null || trainingRequestDTO.getQuantity() == null
+        ? 1 : trainingRequestDTO.getQuantity();
 
-    if (MockData.gold.getAmount() <= 10) {
-      return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource"));
+    if (!trainingService.isValidQuantity(quantity)) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid soldier quantity!"));
     }
 
-    return ResponseEntity.status(200).body(MockData.soldierDTO);
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+
+    if (!trainingService.hasTrainingBarrack(kingdom.getId())) {
+      return ResponseEntity.status(404).body(new ErrorMessage("No barrack found in your kingdom!"));
+    }
 
+    if (trainingService.isQueueFull(kingdom.getId())) {
+      return ResponseEntity.status(409).body(new ErrorMessage("Training queue is full!"));
+    }
+
+    productionService.updateResources(kingdom.getId());
+    TrainingOrder order = trainingService.purchaseTraining(kingdom, quantity);
+    if (order == null) {
+      return ResponseEntity.status(409).body(new ErrorMessage(trainingService.isQueueFull(kingdom.getId())
+          ? "Training queue is full!" : "Not enough resource!"));
+    }
+    return ResponseEntity.status(200).body(trainingService.createTrainingOrderDTO(order));
+  }
+
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = TrainingQueueDTO.class)})
+  @GetMapping("/kingdom/soldiers/queue")
+  public ResponseEntity<Object> listTrainingQueue() {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    return ResponseEntity.status(200).body(trainingService.createTrainingQueueDTO(kingdom.getId()));
   }
 
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
   @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class), @ApiResponse(code = 404, message = "Id not found", response = ErrorMessage.class)})
   @GetMapping("/kingdom/soldiers/{id}")
-  public ResponseEntity<Object> mockRenderSoldier(@PathVariable Long id) {
+  public ResponseEntity<Object> renderSoldier(@PathVariable Long id) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    Soldier soldier = soldierService.findSoldierByKingdomAndSoldierId(kingdom.getId(), id);
+
+    if (soldier == null) {
+      return ResponseEntity.status(404).body(new ErrorMessage("Id not found"));
+    }
+
+    return ResponseEntity.status(200).body(soldierService.createSoldierDTO(soldier));
+  }
+
+  @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): <fromLevel>, <toLevel>, <quantity>!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "Not enough soldiers on this level!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid soldier quantity! or Invalid soldier level: can upgrade only 1 grade at a time, and must be less than or equal with barrack level!", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource!", response = ErrorMessage.class)})
+  @PutMapping("/kingdom/soldiers")
+  public ResponseEntity<Object> changeSoldierLevels(@RequestBody SoldierUpgradeRequestDTO soldierUpgradeRequestDTO) {
+    Integer fromLevel = soldierUpgradeRequestDTO.getFromLevel();
+    Integer toLevel = soldierUpgradeRequestDTO.getToLevel();
+    Integer quantity = soldierUpgradeRequestDTO.getQuantity();
+
+    if (fromLevel == null || toLevel == null || quantity == null) {
+      return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): <fromLevel>, <toLevel>, <quantity>!"));
+    }
+
+    if (quantity < 1) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid soldier quantity!"));
+    }
+
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    Soldier stack = soldierService.findIdleStack(kingdom.getId(), fromLevel);
 
-    if (MockData.soldierDTO.getId() == id) {
-      return ResponseEntity.status(200).body(MockData.soldierDTO);
+    if (stack == null || stack.getQuantity() < quantity) {
+      return ResponseEntity.status(404).body(new ErrorMessage("Not enough soldiers on this level!"));
     }
 
-    return ResponseEntity.status(404).body(new ErrorMessage("Id not found"));
+    if (!soldierService.isValidLevel(stack, toLevel)) {
+      return ResponseEntity.status(406).body(new ErrorMessage("Invalid soldier level: can upgrade only 1 grade at a time, and must be less than or equal with barrack level!"));
+    }
+
+    productionService.updateResources(kingdom.getId());
+    Soldier upgradedStack = soldierService.purchaseSoldierUpgrade(stack, toLevel, quantity);
+    if (upgradedStack == null) {
+      Soldier idleStack = soldierService.findIdleStack(kingdom.getId(), fromLevel);
+      if (idleStack == null || idleStack.getQuantity() < quantity) {
+        return ResponseEntity.status(404).body(new ErrorMessage("Not enough soldiers on this level!"));
+      }
+      return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource!"));
+    }
+    return ResponseEntity.status(200).body(soldierService.createSoldierDTO(upgradedStack));
   }
 
   @ApiImplicitParams({@ApiImplicitParam(name = "token", value = "Authorization token", required = true, dataType = "string", paramType = "header")})
-  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): level!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "Id not found", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid soldier level", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource", response = ErrorMessage.class)})
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "OK", response = SoldierDTO.class), @ApiResponse(code = 400, message = "Missing parameter(s): <level>!", response = ErrorMessage.class), @ApiResponse(code = 404, message = "Id not found!", response = ErrorMessage.class), @ApiResponse(code = 406, message = "Invalid soldier level!", response = ErrorMessage.class), @ApiResponse(code = 409, message = "Not enough resource! or Soldier is already being upgraded!", response = ErrorMessage.class)})
   @PutMapping("/kingdom/soldiers/{id}")
-  public ResponseEntity<Object> mockChangeSoldierLevel(@PathVariable Long id, @RequestBody LevelDTO levelDTO) {
+  public ResponseEntity<Object> changeSoldierLevel(@PathVariable Long id, @RequestBody LevelDTO levelDTO) {
 
     if (levelDTO.getLevel() == null) {
       return ResponseEntity.status(400).body(new ErrorMessage("Missing parameter(s): <level>!"));
     }
 
-    if (MockData.soldierDTO.getId() != id) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    Kingdom kingdom = kingdomService.findKingdomByUsername(username);
+    Soldier soldier = soldierService.findSoldierByKingdomAndSoldierId(kingdom.getId(), id);
+
+    if (soldier == null) {
       return ResponseEntity.status(404).body(new ErrorMessage("Id not found!"));
     }
 
-    if (levelDTO.getLevel() > 3 || levelDTO.getLevel() < 1) {
+    if (!soldierService.isValidLevel(soldier, levelDTO.getLevel())) {
       return ResponseEntity.status(406).body(new ErrorMessage("Invalid soldier level!"));
     }
 
-    if (MockData.gold.getAmount() < 10) {
+    productionService.updateResources(kingdom.getId());
+    Soldier upgradedSoldier = soldierService.purchaseSoldierUpgrade(soldier, levelDTO.getLevel(), 1);
+    if (upgradedSoldier == null) {
+      Soldier idleSoldier = soldierService.findSoldierByKingdomAndSoldierId(kingdom.getId(), id);
+      if (idleSoldier == null || !soldierService.isValidLevel(idleSoldier, levelDTO.getLevel())) {
+        return ResponseEntity.status(409).body(new ErrorMessage("Soldier is already being upgraded!"));
+      }
       return ResponseEntity.status(409).body(new ErrorMessage("Not enough resource!"));
     }
-
-    MockData.soldierDTO.setLevel(levelDTO.getLevel());
-    return ResponseEntity.status(200).body(MockData.soldierDTO);
+    return ResponseEntity.status(200).body(soldierService.createSoldierDTO(upgradedSoldier));
   }
 
-}
\ No newline at end of file
+}
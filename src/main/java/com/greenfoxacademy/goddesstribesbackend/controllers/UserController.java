@@ -81,7 +81,6 @@ public class UserController {
     }
 
     userService.loginUser(username);
-    kingdomService.initKingdom(username);
     return ResponseEntity.status(200).body(new TokenMessage(JWTUtility.generateToken(username)));
   }
 
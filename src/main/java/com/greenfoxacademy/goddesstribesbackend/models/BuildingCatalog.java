@@ -0,0 +1,105 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+public final class BuildingCatalog {
+
+  private final Map<BuildingTypeENUM, LevelCurve> curves;
+
+  private BuildingCatalog(Map<BuildingTypeENUM, LevelCurve> curves) {
+    this.curves = Collections.unmodifiableMap(curves);
+  }
+
+  public static BuildingCatalog fromProperties(Properties definition) {
+    Map<BuildingTypeENUM, LevelCurve> curves = new EnumMap<>(BuildingTypeENUM.class);
+    for (BuildingTypeENUM type : BuildingTypeENUM.values()) {
+      curves.put(type, new LevelCurve(type.name().toLowerCase(), definition));
+    }
+    return new BuildingCatalog(curves);
+  }
+
+  public int getMaxLevel(BuildingTypeENUM type) {
+    return curves.get(type).maxLevel;
+  }
+
+  public boolean hasLevel(BuildingTypeENUM type, int level) {
+    return level >= 1 && level <= getMaxLevel(type);
+  }
+
+  public int getCost(BuildingTypeENUM type, int level) {
+    return curves.get(type).costs[level];
+  }
+
+  public int getDurationSeconds(BuildingTypeENUM type, int level) {
+    return curves.get(type).durations[level];
+  }
+
+  public int getProductionRate(BuildingTypeENUM type, int level) {
+    return curves.get(type).productionRates[level];
+  }
+
+  public int getCapacity(BuildingTypeENUM type, ResourceTypeENUM resourceType, int level) {
+    LevelCurve curve = curves.get(type);
+    return resourceType == ResourceTypeENUM.FOOD ? curve.foodCapacities[level] : curve.goldCapacities[level];
+  }
+
+  private static final class LevelCurve {
+
+    private final int maxLevel;
+    private final int[] costs;
+    private final int[] durations;
+    private final int[] productionRates;
+    private final int[] foodCapacities;
+    private final int[] goldCapacities;
+
+    private LevelCurve(String prefix, Properties definition) {
+      maxLevel = readInt(definition, prefix + ".max-level", 1);
+      if (maxLevel < 1) {
+        throw new IllegalArgumentException(prefix + ".max-level must be at least 1");
+      }
+
+      int creationCost = readInt(definition, prefix + ".creation-cost", 0);
+      int creationSeconds = readInt(definition, prefix + ".creation-seconds", 0);
+      int upgradeCostPerLevel = readInt(definition, prefix + ".upgrade-cost-per-level", 0);
+      int upgradeSeconds = readInt(definition, prefix + ".upgrade-seconds", 0);
+      int upgradeSecondsGrowth = readInt(definition, prefix + ".upgrade-seconds-growth", 0);
+      int productionRatePerLevel = readInt(definition, prefix + ".production-rate-per-level", 0);
+      int foodCapacityPerLevel = readInt(definition, prefix + ".food-capacity-per-level", 0);
+      int goldCapacityPerLevel = readInt(definition, prefix + ".gold-capacity-per-level", 0);
+
+      costs = new int[maxLevel + 1];
+      durations = new int[maxLevel + 1];
+      productionRates = new int[maxLevel + 1];
+      foodCapacities = new int[maxLevel + 1];
+      goldCapacities = new int[maxLevel + 1];
+      for (int level = 1; level <= maxLevel; level++) {
+        costs[level] = readInt(definition, prefix + ".cost." + level,
+            level == 1 ? creationCost : upgradeCostPerLevel * (level - 1));
+        durations[level] = readInt(definition, prefix + ".seconds." + level,
+            level == 1 ? creationSeconds : upgradeSeconds + upgradeSecondsGrowth * (level - 2));
+        productionRates[level] = readInt(definition, prefix + ".production-rate." + level, productionRatePerLevel * level);
+        foodCapacities[level] = readInt(definition, prefix + ".food-capacity." + level, foodCapacityPerLevel * level);
+        goldCapacities[level] = readInt(definition, prefix + ".gold-capacity." + level, goldCapacityPerLevel * level);
+        if (costs[level] < 0 || durations[level] < 0 || productionRates[level] < 0
+            || foodCapacities[level] < 0 || goldCapacities[level] < 0) {
+          throw new IllegalArgumentException(prefix + " level " + level + " has a negative value");
+        }
+      }
+    }
+
+    private static int readInt(Properties definition, String key, int defaultValue) {
+      String value = definition.getProperty(key);
+      if (value == null) return defaultValue;
+      try {
+        return Integer.parseInt(value.trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(key + " is not a number: " + value, e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+@SwaggerDefinition
+public enum BuildingStateENUM {
+  CONSTRUCTING,
+  UPGRADING,
+  IDLE
+}
@@ -0,0 +1,35 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import java.time.LocalDateTime;
+
+public class CompletionEvent {
+
+  private final CompletionTypeENUM type;
+  private final Long id;
+  private final Long kingdomId;
+  private final LocalDateTime finishedAt;
+
+  public CompletionEvent(CompletionTypeENUM type, Long id, Long kingdomId, LocalDateTime finishedAt) {
+    this.type = type;
+    this.id = id;
+    this.kingdomId = kingdomId;
+    this.finishedAt = finishedAt;
+  }
+
+  public CompletionTypeENUM getType() {
+    return type;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getKingdomId() {
+    return kingdomId;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+public class KingdomRates {
+
+  private final int foodProductionRate;
+  private final int goldProductionRate;
+  private final int foodUpkeepRate;
+
+  public KingdomRates(int foodProductionRate, int goldProductionRate, int foodUpkeepRate) {
+    this.foodProductionRate = foodProductionRate;
+    this.goldProductionRate = goldProductionRate;
+    this.foodUpkeepRate = foodUpkeepRate;
+  }
+
+  public int getFoodProductionRate() {
+    return foodProductionRate;
+  }
+
+  public int getGoldProductionRate() {
+    return goldProductionRate;
+  }
+
+  public int getFoodUpkeepRate() {
+    return foodUpkeepRate;
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+
+public final class KingdomSnapshot {
+
+  private final Long townhallId;
+  private final int townhallLevel;
+
+  public KingdomSnapshot(Townhall townhall) {
+    this.townhallId = townhall.getId();
+    this.townhallLevel = townhall.getLevel();
+  }
+
+  public Long getTownhallId() {
+    return townhallId;
+  }
+
+  public int getTownhallLevel() {
+    return townhallLevel;
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class KingdomsDeletedEvent {
+
+  private final List<Long> kingdomIds;
+
+  public KingdomsDeletedEvent(Collection<Long> kingdomIds) {
+    this.kingdomIds = Collections.unmodifiableList(new ArrayList<>(kingdomIds));
+  }
+
+  public List<Long> getKingdomIds() {
+    return kingdomIds;
+  }
+
+}
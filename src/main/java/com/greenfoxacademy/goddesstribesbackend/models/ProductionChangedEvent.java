@@ -0,0 +1,15 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+public class ProductionChangedEvent {
+
+  private final Long kingdomId;
+
+  public ProductionChangedEvent(Long kingdomId) {
+    this.kingdomId = kingdomId;
+  }
+
+  public Long getKingdomId() {
+    return kingdomId;
+  }
+
+}
@@ -0,0 +1,89 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.RateChange;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class RateTimeline {
+
+  private final Map<ResourceTypeENUM, Integer> targetRates;
+  private final List<RateChange> pendingChanges;
+
+  public RateTimeline(Map<ResourceTypeENUM, Integer> targetRates, List<RateChange> pendingChanges) {
+    this.targetRates = new EnumMap<>(targetRates);
+    this.pendingChanges = Collections.unmodifiableList(new ArrayList<>(pendingChanges));
+  }
+
+  public int rateAt(ResourceTypeENUM type, LocalDateTime time) {
+    int rate = targetRates.getOrDefault(type, 0);
+    for (RateChange change : pendingChanges) {
+      if (change.getType().equals(type) && change.getEffectiveAt().isAfter(time)) {
+        rate -= change.getDelta();
+      }
+    }
+    return rate;
+  }
+
+  public int accrue(ResourceTypeENUM type, int amount, int capacity, LocalDateTime from, LocalDateTime to) {
+    return (int) accrueExact(type, amount, capacity, from, to);
+  }
+
+  public double accrueExact(ResourceTypeENUM type, double amount, int capacity, LocalDateTime from, LocalDateTime to) {
+    double currentAmount = amount;
+    int rate = rateAt(type, from);
+    LocalDateTime segmentStart = from;
+
+    for (RateChange change : pendingChanges) {
+      if (!change.getType().equals(type) || !change.getEffectiveAt().isAfter(from)) continue;
+      if (change.getEffectiveAt().isAfter(to)) break;
+
+      currentAmount = accrueSegment(currentAmount, rate, capacity, segmentStart, change.getEffectiveAt());
+      rate += change.getDelta();
+      segmentStart = change.getEffectiveAt();
+    }
+    return accrueSegment(currentAmount, rate, capacity, segmentStart, to);
+  }
+
+  public LocalDateTime findDepletionTime(ResourceTypeENUM type, double amount, int capacity, LocalDateTime from) {
+    double currentAmount = amount;
+    int rate = rateAt(type, from);
+    LocalDateTime segmentStart = from;
+
+    for (RateChange change : pendingChanges) {
+      if (!change.getType().equals(type) || !change.getEffectiveAt().isAfter(from)) continue;
+
+      LocalDateTime depletionTime = findDepletionTimeInSegment(currentAmount, rate, segmentStart);
+      if (depletionTime != null && depletionTime.isBefore(change.getEffectiveAt())) return depletionTime;
+
+      currentAmount = accrueSegment(currentAmount, rate, capacity, segmentStart, change.getEffectiveAt());
+      rate += change.getDelta();
+      segmentStart = change.getEffectiveAt();
+    }
+    return findDepletionTimeInSegment(currentAmount, rate, segmentStart);
+  }
+
+  private LocalDateTime findDepletionTimeInSegment(double amount, int rate, LocalDateTime from) {
+    if (rate >= 0) return null;
+    if (amount <= 0) return from;
+
+    return from.plus(Duration.ofMillis((long) Math.ceil(amount / -rate * 60000)));
+  }
+
+  private double accrueSegment(double amount, int rate, int capacity, LocalDateTime from, LocalDateTime to) {
+    if (!to.isAfter(from)) return amount;
+
+    double minutes = Duration.between(from, to).toMillis() / 60000.;
+    double accruedAmount = amount + rate * minutes;
+    if (rate > 0 && accruedAmount > capacity) {
+      return Math.max(amount, capacity);
+    }
+    return accruedAmount;
+  }
+
+}
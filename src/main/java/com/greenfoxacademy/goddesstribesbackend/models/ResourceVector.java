@@ -0,0 +1,67 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ResourceVector {
+
+  private final Map<ResourceTypeENUM, Resource> resources = new EnumMap<>(ResourceTypeENUM.class);
+  private final RateTimeline rateTimeline;
+
+  public ResourceVector(List<Resource> resources, RateTimeline rateTimeline) {
+    for (Resource resource : resources) {
+      this.resources.put(resource.getType(), resource);
+    }
+    this.rateTimeline = rateTimeline;
+  }
+
+  public Set<ResourceTypeENUM> getTypes() {
+    return resources.keySet();
+  }
+
+  public Resource getResource(ResourceTypeENUM type) {
+    return resources.get(type);
+  }
+
+  public List<Resource> getResources() {
+    return new ArrayList<>(resources.values());
+  }
+
+  public RateTimeline getRateTimeline() {
+    return rateTimeline;
+  }
+
+  public int getCapacity(ResourceTypeENUM type) {
+    return resources.get(type).getTownhall().getCapacity(type);
+  }
+
+  public int amountAt(ResourceTypeENUM type, LocalDateTime time) {
+    Resource resource = resources.get(type);
+    return rateTimeline.accrue(type, resource.getAmount(), getCapacity(type), resource.getUpdateTime(), time);
+  }
+
+  public int rateAt(ResourceTypeENUM type, LocalDateTime time) {
+    return rateTimeline.rateAt(type, time);
+  }
+
+  public LocalDateTime findDepletionTime(ResourceTypeENUM type, LocalDateTime now) {
+    return rateTimeline.findDepletionTime(type, amountAt(type, now), getCapacity(type), now);
+  }
+
+  public static LocalDateTime findEarliestUpdateTime(List<Resource> resources) {
+    LocalDateTime earliestUpdateTime = resources.get(0).getUpdateTime();
+    for (Resource resource : resources) {
+      if (resource.getUpdateTime().isBefore(earliestUpdateTime)) {
+        earliestUpdateTime = resource.getUpdateTime();
+      }
+    }
+    return earliestUpdateTime;
+  }
+
+}
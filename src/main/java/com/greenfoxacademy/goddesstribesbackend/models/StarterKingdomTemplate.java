@@ -0,0 +1,70 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class StarterKingdomTemplate {
+
+  public static final List<BuildingTypeENUM> BUILDING_TYPES = Collections.unmodifiableList(
+      Arrays.asList(BuildingTypeENUM.TOWNHALL, BuildingTypeENUM.FARM, BuildingTypeENUM.MINE));
+
+  private final BuildingCatalog catalog;
+  private final Map<ResourceTypeENUM, Integer> startAmounts = new EnumMap<>(ResourceTypeENUM.class);
+  private final Map<ResourceTypeENUM, Integer> capacities = new EnumMap<>(ResourceTypeENUM.class);
+  private final RateTimeline rateTimeline;
+
+  public StarterKingdomTemplate(BuildingCatalog catalog) {
+    this.catalog = catalog;
+    startAmounts.put(ResourceTypeENUM.FOOD, Townhall.START_FOOD_AMOUNT);
+    startAmounts.put(ResourceTypeENUM.GOLD, Townhall.START_GOLD_AMOUNT);
+    for (ResourceTypeENUM type : startAmounts.keySet()) {
+      capacities.put(type, catalog.getCapacity(BuildingTypeENUM.TOWNHALL, type, 1));
+    }
+
+    Map<ResourceTypeENUM, Integer> rates = new EnumMap<>(ResourceTypeENUM.class);
+    rates.put(ResourceTypeENUM.FOOD, catalog.getProductionRate(BuildingTypeENUM.FARM, 1));
+    rates.put(ResourceTypeENUM.GOLD, catalog.getProductionRate(BuildingTypeENUM.MINE, 1));
+    rateTimeline = new RateTimeline(rates, Collections.emptyList());
+  }
+
+  public boolean isBuiltFrom(BuildingCatalog catalog) {
+    return this.catalog == catalog;
+  }
+
+  public List<BuildingTypeENUM> getBuildingTypes() {
+    return BUILDING_TYPES;
+  }
+
+  public Long findVirtualBuildingId(BuildingTypeENUM type) {
+    return (long) -(BUILDING_TYPES.indexOf(type) + 1);
+  }
+
+  public BuildingTypeENUM findBuildingType(Long virtualBuildingId) {
+    int index = (int) -virtualBuildingId - 1;
+    return index >= 0 && index < BUILDING_TYPES.size() ? BUILDING_TYPES.get(index) : null;
+  }
+
+  public LocalDateTime findStartedAt(BuildingTypeENUM type, LocalDateTime foundedAt) {
+    return foundedAt.minusSeconds(catalog.getDurationSeconds(type, 1));
+  }
+
+  public Set<ResourceTypeENUM> getResourceTypes() {
+    return startAmounts.keySet();
+  }
+
+  public int amountAt(ResourceTypeENUM type, LocalDateTime foundedAt, LocalDateTime time) {
+    return rateTimeline.accrue(type, startAmounts.get(type), capacities.get(type), foundedAt, time);
+  }
+
+  public int rateAt(ResourceTypeENUM type) {
+    return rateTimeline.rateAt(type, LocalDateTime.now());
+  }
+
+}
@@ -0,0 +1,191 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TimingWheel<T> {
+
+  private final List<Level> levels = new ArrayList<>();
+  private final Set<Timer<T>> dueTimers = new LinkedHashSet<>();
+  private final long tickMillis;
+  private final int wheelSize;
+  private int size;
+
+  public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    levels.add(new Level(tickMillis, startMillis));
+  }
+
+  public synchronized Timer<T> schedule(T payload, long expirationMillis) {
+    Timer<T> timer = new Timer<>(payload, expirationMillis);
+    if (add(timer)) {
+      size++;
+    } else {
+      timer.due = true;
+      dueTimers.add(timer);
+    }
+    return timer;
+  }
+
+  public synchronized boolean cancel(Timer<T> timer) {
+    if (timer.cancelled || timer.fired) return false;
+
+    timer.cancelled = true;
+    if (timer.due) {
+      dueTimers.remove(timer);
+    } else {
+      timer.bucket.remove(timer);
+      size--;
+    }
+    return true;
+  }
+
+  public synchronized List<T> advanceClock(long nowMillis) {
+    Level lowest = levels.get(0);
+    while (lowest.currentTime + tickMillis <= nowMillis) {
+      Bucket<T> expiredBucket = lowest.bucketFor(lowest.currentTime);
+      lowest.currentTime += tickMillis;
+      fire(expiredBucket.drain());
+
+      for (int i = 1; i < levels.size(); i++) {
+        Level level = levels.get(i);
+        if (lowest.currentTime % level.tickMillis != 0) break;
+
+        level.currentTime = lowest.currentTime;
+        for (Timer<T> timer : level.bucketFor(level.currentTime).drain()) {
+          if (!add(timer)) fire(timer);
+        }
+      }
+    }
+
+    List<T> payloads = new ArrayList<>();
+    for (Timer<T> timer : dueTimers) {
+      payloads.add(timer.payload);
+      timer.fired = true;
+    }
+    dueTimers.clear();
+    return payloads;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private boolean add(Timer<T> timer) {
+    if (timer.expirationMillis < levels.get(0).currentTime) return false;
+
+    for (int i = 0; ; i++) {
+      if (i == levels.size()) {
+        long levelTick = levels.get(i - 1).tickMillis * wheelSize;
+        levels.add(new Level(levelTick, levels.get(0).currentTime));
+      }
+
+      Level level = levels.get(i);
+      if (timer.expirationMillis < level.currentTime + level.tickMillis * wheelSize) {
+        level.bucketFor(timer.expirationMillis).add(timer);
+        return true;
+      }
+    }
+  }
+
+  private void fire(List<Timer<T>> timers) {
+    for (Timer<T> timer : timers) {
+      fire(timer);
+    }
+  }
+
+  private void fire(Timer<T> timer) {
+    timer.due = true;
+    dueTimers.add(timer);
+    size--;
+  }
+
+  private class Level {
+
+    private final long tickMillis;
+    private final Bucket<T>[] buckets;
+    private long currentTime;
+
+    @SuppressWarnings("unchecked")
+    private Level(long tickMillis, long startMillis) {
+      this.tickMillis = tickMillis;
+      this.currentTime = startMillis - startMillis % tickMillis;
+      this.buckets = new Bucket[wheelSize];
+      for (int i = 0; i < wheelSize; i++) {
+        buckets[i] = new Bucket<>();
+      }
+    }
+
+    private Bucket<T> bucketFor(long timeMillis) {
+      return buckets[(int) ((timeMillis / tickMillis) % wheelSize)];
+    }
+
+  }
+
+  private static class Bucket<T> {
+
+    private final Timer<T> head = new Timer<>(null, 0);
+
+    private Bucket() {
+      head.next = head;
+      head.previous = head;
+    }
+
+    private void add(Timer<T> timer) {
+      timer.bucket = this;
+      timer.previous = head.previous;
+      timer.next = head;
+      head.previous.next = timer;
+      head.previous = timer;
+    }
+
+    private void remove(Timer<T> timer) {
+      timer.previous.next = timer.next;
+      timer.next.previous = timer.previous;
+      timer.previous = null;
+      timer.next = null;
+      timer.bucket = null;
+    }
+
+    private List<Timer<T>> drain() {
+      List<Timer<T>> timers = new ArrayList<>();
+      while (head.next != head) {
+        Timer<T> timer = head.next;
+        remove(timer);
+        timers.add(timer);
+      }
+      return timers;
+    }
+
+  }
+
+  public static class Timer<T> {
+
+    private final T payload;
+    private final long expirationMillis;
+    private Timer<T> previous;
+    private Timer<T> next;
+    private Bucket<T> bucket;
+    private boolean due;
+    private boolean fired;
+    private boolean cancelled;
+
+    private Timer(T payload, long expirationMillis) {
+      this.payload = payload;
+      this.expirationMillis = expirationMillis;
+    }
+
+    public T getPayload() {
+      return payload;
+    }
+
+    public long getExpirationMillis() {
+      return expirationMillis;
+    }
+
+  }
+
+}
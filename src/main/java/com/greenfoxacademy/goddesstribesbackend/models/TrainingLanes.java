@@ -0,0 +1,56 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TrainingLanes {
+
+  private final TreeMap<LocalDateTime, Integer> rateSteps = new TreeMap<>();
+
+  public void addLane(LocalDateTime availableAt, int rate) {
+    if (rate <= 0) return;
+    rateSteps.merge(availableAt, rate, Integer::sum);
+  }
+
+  public int getTotalRate() {
+    int totalRate = 0;
+    for (int rate : rateSteps.values()) {
+      totalRate += rate;
+    }
+    return totalRate;
+  }
+
+  public LocalDateTime calculateFinishedAt(LocalDateTime startedAt, int quantity, long secondsPerSoldier) {
+    long remainingWork = quantity * secondsPerSoldier;
+    int rate = 0;
+    LocalDateTime time = startedAt;
+    Iterator<Map.Entry<LocalDateTime, Integer>> steps = rateSteps.entrySet().iterator();
+    Map.Entry<LocalDateTime, Integer> nextStep = steps.hasNext() ? steps.next() : null;
+
+    while (true) {
+      while (nextStep != null && !nextStep.getKey().isAfter(time)) {
+        rate += nextStep.getValue();
+        nextStep = steps.hasNext() ? steps.next() : null;
+      }
+      if (nextStep == null) {
+        if (rate == 0) throw new IllegalStateException("No training lane is available");
+        return time.plusSeconds(divideRoundingUp(remainingWork, rate));
+      }
+
+      long segmentSeconds = Duration.between(time, nextStep.getKey()).getSeconds();
+      if (rate > 0 && rate * segmentSeconds >= remainingWork) {
+        return time.plusSeconds(divideRoundingUp(remainingWork, rate));
+      }
+      remainingWork -= rate * segmentSeconds;
+      time = nextStep.getKey();
+    }
+  }
+
+  private static long divideRoundingUp(long dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+
+}
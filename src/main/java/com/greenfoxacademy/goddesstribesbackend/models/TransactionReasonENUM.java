@@ -0,0 +1,17 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+@SwaggerDefinition
+public enum TransactionReasonENUM {
+  INITIAL,
+  PRODUCTION,
+  UPKEEP,
+  BUILDING_COST,
+  LEDGER_SYNC,
+  STARVATION,
+  BUILD_QUEUE_REFUND,
+  UPGRADE_REFUND,
+  SOLDIER_COST,
+  SOLDIER_REFUND
+}
@@ -0,0 +1,37 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.util.List;
+
+@SwaggerDefinition
+public class BuildQueueDTO {
+
+  private int slots;
+  private List<BuildQueueEntryDTO> queue;
+
+  public BuildQueueDTO() {
+  }
+
+  public BuildQueueDTO(int slots, List<BuildQueueEntryDTO> queue) {
+    this.slots = slots;
+    this.queue = queue;
+  }
+
+  public int getSlots() {
+    return slots;
+  }
+
+  public void setSlots(int slots) {
+    this.slots = slots;
+  }
+
+  public List<BuildQueueEntryDTO> getQueue() {
+    return queue;
+  }
+
+  public void setQueue(List<BuildQueueEntryDTO> queue) {
+    this.queue = queue;
+  }
+
+}
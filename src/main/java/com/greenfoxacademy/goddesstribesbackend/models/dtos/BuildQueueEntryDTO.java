@@ -0,0 +1,97 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.sql.Timestamp;
+
+@SwaggerDefinition
+public class BuildQueueEntryDTO {
+
+  @ApiModelProperty(position = 1)
+  private Long id;
+  @ApiModelProperty(position = 2)
+  private BuildingTypeENUM type;
+  @ApiModelProperty(position = 3)
+  private Long buildingId;
+  @ApiModelProperty(position = 4)
+  private Integer level;
+  @ApiModelProperty(position = 5)
+  private int cost;
+  @ApiModelProperty(position = 6)
+  private boolean running;
+  @ApiModelProperty(position = 7)
+  private Timestamp enqueuedAt;
+
+  public BuildQueueEntryDTO() {
+  }
+
+  public BuildQueueEntryDTO(Long id, BuildingTypeENUM type, Long buildingId, Integer level, int cost,
+                            boolean running, Timestamp enqueuedAt) {
+    this.id = id;
+    this.type = type;
+    this.buildingId = buildingId;
+    this.level = level;
+    this.cost = cost;
+    this.running = running;
+    this.enqueuedAt = enqueuedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public BuildingTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(BuildingTypeENUM type) {
+    this.type = type;
+  }
+
+  public Long getBuildingId() {
+    return buildingId;
+  }
+
+  public void setBuildingId(Long buildingId) {
+    this.buildingId = buildingId;
+  }
+
+  public Integer getLevel() {
+    return level;
+  }
+
+  public void setLevel(Integer level) {
+    this.level = level;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public void setCost(int cost) {
+    this.cost = cost;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public Timestamp getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  public void setEnqueuedAt(Timestamp enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+@SwaggerDefinition
+public class BuildQueueRequestDTO {
+
+  private String type;
+  private Long buildingId;
+  private Integer level;
+
+  public BuildQueueRequestDTO() {
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public Long getBuildingId() {
+    return buildingId;
+  }
+
+  public void setBuildingId(Long buildingId) {
+    this.buildingId = buildingId;
+  }
+
+  public Integer getLevel() {
+    return level;
+  }
+
+  public void setLevel(Integer level) {
+    this.level = level;
+  }
+
+}
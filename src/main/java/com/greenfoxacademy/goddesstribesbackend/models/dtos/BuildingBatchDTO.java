@@ -0,0 +1,23 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.util.List;
+
+@SwaggerDefinition
+public class BuildingBatchDTO {
+
+  private List<String> types;
+
+  public BuildingBatchDTO() {
+  }
+
+  public List<String> getTypes() {
+    return types;
+  }
+
+  public void setTypes(List<String> types) {
+    this.types = types;
+  }
+
+}
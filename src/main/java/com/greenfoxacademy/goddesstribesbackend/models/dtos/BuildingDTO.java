@@ -5,6 +5,7 @@ import io.swagger.annotations.ApiModelProperty;
 import io.swagger.annotations.SwaggerDefinition;
 
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 @SwaggerDefinition
 public class BuildingDTO {
@@ -31,6 +32,10 @@ public class BuildingDTO {
     this.finishedAt = finishedAt;
   }
 
+  public BuildingDTO(Long id, BuildingTypeENUM type, int level, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    this(id, type, level, Timestamp.valueOf(startedAt), Timestamp.valueOf(finishedAt));
+  }
+
   public Long getId() {
     return id;
   }
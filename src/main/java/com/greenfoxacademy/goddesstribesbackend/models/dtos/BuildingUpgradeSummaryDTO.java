@@ -0,0 +1,68 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.sql.Timestamp;
+
+@SwaggerDefinition
+public class BuildingUpgradeSummaryDTO {
+
+  private BuildingTypeENUM type;
+  private int level;
+  private int upgraded;
+  private int cost;
+  private Timestamp finishedAt;
+
+  public BuildingUpgradeSummaryDTO() {
+  }
+
+  public BuildingUpgradeSummaryDTO(BuildingTypeENUM type, int level, int upgraded, int cost, Timestamp finishedAt) {
+    this.type = type;
+    this.level = level;
+    this.upgraded = upgraded;
+    this.cost = cost;
+    this.finishedAt = finishedAt;
+  }
+
+  public BuildingTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(BuildingTypeENUM type) {
+    this.type = type;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  public void setLevel(int level) {
+    this.level = level;
+  }
+
+  public int getUpgraded() {
+    return upgraded;
+  }
+
+  public void setUpgraded(int upgraded) {
+    this.upgraded = upgraded;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public void setCost(int cost) {
+    this.cost = cost;
+  }
+
+  public Timestamp getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(Timestamp finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+}
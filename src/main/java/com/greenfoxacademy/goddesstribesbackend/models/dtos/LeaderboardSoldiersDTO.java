@@ -10,13 +10,20 @@ public class LeaderboardSoldiersDTO {
   private String kingdomName;
   @ApiModelProperty(position = 2)
   private int soldiers;
+  @ApiModelProperty(position = 3)
+  private long armyPower;
 
   public LeaderboardSoldiersDTO() {
   }
 
   public LeaderboardSoldiersDTO(String kingdomName, int soldiers) {
+    this(kingdomName, soldiers, 0);
+  }
+
+  public LeaderboardSoldiersDTO(String kingdomName, int soldiers, long armyPower) {
     this.kingdomName = kingdomName;
     this.soldiers = soldiers;
+    this.armyPower = armyPower;
   }
 
   public String getKingdomName() {
@@ -35,4 +42,12 @@ public class LeaderboardSoldiersDTO {
     this.soldiers = soldiers;
   }
 
+  public long getArmyPower() {
+    return armyPower;
+  }
+
+  public void setArmyPower(long armyPower) {
+    this.armyPower = armyPower;
+  }
+
 }
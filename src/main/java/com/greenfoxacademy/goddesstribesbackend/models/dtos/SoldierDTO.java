@@ -14,20 +14,31 @@ public class SoldierDTO {
   @ApiModelProperty(position = 2)
   private int level;
   @ApiModelProperty(position = 3)
-  private Timestamp startedAt;
+  private int quantity;
   @ApiModelProperty(position = 4)
+  private Timestamp startedAt;
+  @ApiModelProperty(position = 5)
   private Timestamp finishedAt;
 
   public SoldierDTO() {
   }
 
   public SoldierDTO(Long id, int level, Timestamp startedAt, Timestamp finishedAt) {
+    this(id, level, 1, startedAt, finishedAt);
+  }
+
+  public SoldierDTO(Long id, int level, int quantity, Timestamp startedAt, Timestamp finishedAt) {
     this.id = id;
     this.level = level;
+    this.quantity = quantity;
     this.startedAt = startedAt;
     this.finishedAt = finishedAt;
   }
 
+  public SoldierDTO(Long id, int level, int quantity, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    this(id, level, quantity, Timestamp.valueOf(startedAt), Timestamp.valueOf(finishedAt));
+  }
+
   public Long getId() {
     return id;
   }
@@ -44,6 +55,14 @@ public class SoldierDTO {
     this.level = level;
   }
 
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
   public Timestamp getStartedAt() {
     return startedAt;
   }
@@ -0,0 +1,45 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+@SwaggerDefinition
+public class SoldierUpgradeRequestDTO {
+
+  private Integer fromLevel;
+  private Integer toLevel;
+  private Integer quantity;
+
+  public SoldierUpgradeRequestDTO() {
+  }
+
+  public SoldierUpgradeRequestDTO(Integer fromLevel, Integer toLevel, Integer quantity) {
+    this.fromLevel = fromLevel;
+    this.toLevel = toLevel;
+    this.quantity = quantity;
+  }
+
+  public Integer getFromLevel() {
+    return fromLevel;
+  }
+
+  public void setFromLevel(Integer fromLevel) {
+    this.fromLevel = fromLevel;
+  }
+
+  public Integer getToLevel() {
+    return toLevel;
+  }
+
+  public void setToLevel(Integer toLevel) {
+    this.toLevel = toLevel;
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(Integer quantity) {
+    this.quantity = quantity;
+  }
+
+}
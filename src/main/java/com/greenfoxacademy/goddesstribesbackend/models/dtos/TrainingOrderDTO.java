@@ -0,0 +1,85 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.sql.Timestamp;
+
+@SwaggerDefinition
+public class TrainingOrderDTO {
+
+  @ApiModelProperty(position = 1)
+  private Long id;
+  @ApiModelProperty(position = 2)
+  private int quantity;
+  @ApiModelProperty(position = 3)
+  private int cost;
+  @ApiModelProperty(position = 4)
+  private boolean running;
+  @ApiModelProperty(position = 5)
+  private Timestamp enqueuedAt;
+  @ApiModelProperty(position = 6)
+  private Timestamp finishedAt;
+
+  public TrainingOrderDTO() {
+  }
+
+  public TrainingOrderDTO(Long id, int quantity, int cost, boolean running, Timestamp enqueuedAt,
+                          Timestamp finishedAt) {
+    this.id = id;
+    this.quantity = quantity;
+    this.cost = cost;
+    this.running = running;
+    this.enqueuedAt = enqueuedAt;
+    this.finishedAt = finishedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public void setCost(int cost) {
+    this.cost = cost;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public Timestamp getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  public void setEnqueuedAt(Timestamp enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
+  public Timestamp getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(Timestamp finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+}
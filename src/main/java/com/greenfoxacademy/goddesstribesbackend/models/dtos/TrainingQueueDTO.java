@@ -0,0 +1,37 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+import java.util.List;
+
+@SwaggerDefinition
+public class TrainingQueueDTO {
+
+  private int slots;
+  private List<TrainingOrderDTO> queue;
+
+  public TrainingQueueDTO() {
+  }
+
+  public TrainingQueueDTO(int slots, List<TrainingOrderDTO> queue) {
+    this.slots = slots;
+    this.queue = queue;
+  }
+
+  public int getSlots() {
+    return slots;
+  }
+
+  public void setSlots(int slots) {
+    this.slots = slots;
+  }
+
+  public List<TrainingOrderDTO> getQueue() {
+    return queue;
+  }
+
+  public void setQueue(List<TrainingOrderDTO> queue) {
+    this.queue = queue;
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.greenfoxacademy.goddesstribesbackend.models.dtos;
+
+import io.swagger.annotations.SwaggerDefinition;
+
+@SwaggerDefinition
+public class TrainingRequestDTO {
+
+  private Integer quantity;
+
+  public TrainingRequestDTO() {
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(Integer quantity) {
+    this.quantity = quantity;
+  }
+
+}
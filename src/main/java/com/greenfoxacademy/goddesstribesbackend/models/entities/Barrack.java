@@ -3,6 +3,7 @@ package com.greenfoxacademy.goddesstribesbackend.models.entities;
 import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
 
 import javax.persistence.Entity;
+import java.time.LocalDateTime;
 
 @Entity
 public class Barrack extends Building {
@@ -11,7 +12,11 @@ public class Barrack extends Building {
   }
 
   public Barrack(Kingdom kingdom) {
-    super(kingdom);
+    this(kingdom, LocalDateTime.now());
+  }
+
+  public Barrack(Kingdom kingdom, LocalDateTime startedAt) {
+    super(kingdom, startedAt);
     this.setType(BuildingTypeENUM.BARRACK);
   }
 
@@ -0,0 +1,121 @@
+package com.greenfoxacademy.goddesstribesbackend.models.entities;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {@Index(columnList = "kingdomId,running,id")})
+public class BuildQueueEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  private BuildingTypeENUM type;
+  private Long buildingId;
+  private Integer level;
+  private int cost;
+  private boolean running;
+  private LocalDateTime enqueuedAt;
+  private LocalDateTime startedAt;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "kingdomId")
+  private Kingdom kingdom;
+
+  public BuildQueueEntry() {
+  }
+
+  public BuildQueueEntry(Kingdom kingdom, BuildingTypeENUM type, int cost) {
+    this(kingdom, type, null, null, cost);
+  }
+
+  public BuildQueueEntry(Kingdom kingdom, BuildingTypeENUM type, Long buildingId, Integer level, int cost) {
+    this.kingdom = kingdom;
+    this.type = type;
+    this.buildingId = buildingId;
+    this.level = level;
+    this.cost = cost;
+    running = false;
+    enqueuedAt = LocalDateTime.now();
+  }
+
+  public boolean isUpgrade() {
+    return buildingId != null && level != null;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public BuildingTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(BuildingTypeENUM type) {
+    this.type = type;
+  }
+
+  public Long getBuildingId() {
+    return buildingId;
+  }
+
+  public void setBuildingId(Long buildingId) {
+    this.buildingId = buildingId;
+  }
+
+  public Integer getLevel() {
+    return level;
+  }
+
+  public void setLevel(Integer level) {
+    this.level = level;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public void setCost(int cost) {
+    this.cost = cost;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public LocalDateTime getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  public void setEnqueuedAt(LocalDateTime enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public Kingdom getKingdom() {
+    return kingdom;
+  }
+
+  public void setKingdom(Kingdom kingdom) {
+    this.kingdom = kingdom;
+  }
+
+}
@@ -1,27 +1,32 @@
 package com.greenfoxacademy.goddesstribesbackend.models.entities;
 
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(columnList = "state,finishedAt"))
 public abstract class Building {
 
-  public static final int MAX_LEVEL = 3;
   private static final int START_LEVEL = 1;
-  public static final int CREATION_COST = 250;
   public static final int CREATION_TIME = 2;
   private static final int START_UPGRADE_COST = 100;
   private static final int START_UPGRADE_TIME = 1;
-  public static final int UPGRADE_COST_PER_LEVEL = 100;
-  public static final int UPGRADE_TIME = 1;
+  public static final int MAX_BATCH_SIZE = 50;
+  public static final int MAX_BULK_UPGRADE_SIZE = 500;
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buildingIdGenerator")
+  @SequenceGenerator(name = "buildingIdGenerator", sequenceName = "building_id_seq", allocationSize = 50)
   private Long id;
 
+  @Version
+  private long version;
+
   private BuildingTypeENUM type;
+  private BuildingStateENUM state;
   private int level;
   private int upgradeCost;
   private int upgradeTime;
@@ -45,6 +50,7 @@ public abstract class Building {
     upgradeTime = START_UPGRADE_TIME;
     this.startedAt = startedAt;
     finishedAt = startedAt.plusMinutes(CREATION_TIME);
+    state = finishedAt.isAfter(LocalDateTime.now()) ? BuildingStateENUM.CONSTRUCTING : BuildingStateENUM.IDLE;
     this.kingdom = kingdom;
   }
 
@@ -56,6 +62,14 @@ public abstract class Building {
     this.id = id;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public BuildingTypeENUM getType() {
     return type;
   }
@@ -64,6 +78,14 @@ public abstract class Building {
     this.type = type;
   }
 
+  public BuildingStateENUM getState() {
+    return state;
+  }
+
+  public void setState(BuildingStateENUM state) {
+    this.state = state;
+  }
+
   public int getLevel() {
     return level;
   }
@@ -1,21 +1,38 @@
 package com.greenfoxacademy.goddesstribesbackend.models.entities;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {@Index(columnList = "armyPower"), @Index(columnList = "soldierCount")})
 public class Kingdom {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Version
+  private long version;
+
   private String kingdomName;
 
   private int xCoord;
   private int yCoord;
   private boolean active;
+  private LocalDateTime foundedAt;
+
+  @Column(updatable = false)
+  private int foodProductionRate;
+  @Column(updatable = false)
+  private int goldProductionRate;
+  @Column(updatable = false)
+  private int foodUpkeepRate;
+  @Column(updatable = false)
+  private long armyPower;
+  @Column(updatable = false)
+  private int soldierCount;
 
   @OneToOne(optional = false)
   private User user;
@@ -32,6 +49,12 @@ public class Kingdom {
     xCoord = 0;
     yCoord = 0;
     active = false;
+    foundedAt = LocalDateTime.now();
+    foodProductionRate = 0;
+    goldProductionRate = 0;
+    foodUpkeepRate = 0;
+    armyPower = 0;
+    soldierCount = 0;
     this.user = user;
     buildings = new ArrayList<>();
   }
@@ -44,6 +67,14 @@ public class Kingdom {
     this.id = id;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public String getKingdomName() {
     return kingdomName;
   }
@@ -76,6 +107,54 @@ public class Kingdom {
     this.active = active;
   }
 
+  public LocalDateTime getFoundedAt() {
+    return foundedAt;
+  }
+
+  public void setFoundedAt(LocalDateTime foundedAt) {
+    this.foundedAt = foundedAt;
+  }
+
+  public int getFoodProductionRate() {
+    return foodProductionRate;
+  }
+
+  public void setFoodProductionRate(int foodProductionRate) {
+    this.foodProductionRate = foodProductionRate;
+  }
+
+  public int getGoldProductionRate() {
+    return goldProductionRate;
+  }
+
+  public void setGoldProductionRate(int goldProductionRate) {
+    this.goldProductionRate = goldProductionRate;
+  }
+
+  public int getFoodUpkeepRate() {
+    return foodUpkeepRate;
+  }
+
+  public void setFoodUpkeepRate(int foodUpkeepRate) {
+    this.foodUpkeepRate = foodUpkeepRate;
+  }
+
+  public long getArmyPower() {
+    return armyPower;
+  }
+
+  public void setArmyPower(long armyPower) {
+    this.armyPower = armyPower;
+  }
+
+  public int getSoldierCount() {
+    return soldierCount;
+  }
+
+  public void setSoldierCount(int soldierCount) {
+    this.soldierCount = soldierCount;
+  }
+
   public User getUser() {
     return user;
   }
@@ -0,0 +1,89 @@
+package com.greenfoxacademy.goddesstribesbackend.models.entities;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(columnList = "kingdomId,effectiveAt"))
+public class RateChange {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rateChangeIdGenerator")
+  @SequenceGenerator(name = "rateChangeIdGenerator", sequenceName = "rate_change_id_seq", allocationSize = 50)
+  private Long id;
+
+  private ResourceTypeENUM type;
+  private int delta;
+  private LocalDateTime effectiveAt;
+  private boolean upkeep;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "kingdomId")
+  private Kingdom kingdom;
+
+  public RateChange() {
+  }
+
+  public RateChange(Kingdom kingdom, ResourceTypeENUM type, int delta, LocalDateTime effectiveAt) {
+    this(kingdom, type, delta, effectiveAt, false);
+  }
+
+  public RateChange(Kingdom kingdom, ResourceTypeENUM type, int delta, LocalDateTime effectiveAt, boolean upkeep) {
+    this.kingdom = kingdom;
+    this.type = type;
+    this.delta = delta;
+    this.effectiveAt = effectiveAt;
+    this.upkeep = upkeep;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public ResourceTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(ResourceTypeENUM type) {
+    this.type = type;
+  }
+
+  public int getDelta() {
+    return delta;
+  }
+
+  public void setDelta(int delta) {
+    this.delta = delta;
+  }
+
+  public LocalDateTime getEffectiveAt() {
+    return effectiveAt;
+  }
+
+  public void setEffectiveAt(LocalDateTime effectiveAt) {
+    this.effectiveAt = effectiveAt;
+  }
+
+  public boolean isUpkeep() {
+    return upkeep;
+  }
+
+  public void setUpkeep(boolean upkeep) {
+    this.upkeep = upkeep;
+  }
+
+  public Kingdom getKingdom() {
+    return kingdom;
+  }
+
+  public void setKingdom(Kingdom kingdom) {
+    this.kingdom = kingdom;
+  }
+
+}
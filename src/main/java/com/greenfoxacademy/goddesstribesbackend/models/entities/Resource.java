@@ -12,6 +12,9 @@ public class Resource {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Version
+  private long version;
+
   private ResourceTypeENUM type;
   private int amount;
   private LocalDateTime updateTime;
@@ -37,6 +40,14 @@ public class Resource {
     this.id = id;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public ResourceTypeENUM getType() {
     return type;
   }
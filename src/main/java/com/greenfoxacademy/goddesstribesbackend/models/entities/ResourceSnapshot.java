@@ -0,0 +1,83 @@
+package com.greenfoxacademy.goddesstribesbackend.models.entities;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {@Index(columnList = "kingdomId,type,lastTransactionId"), @Index(columnList = "lastTransactionId")})
+public class ResourceSnapshot {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long kingdomId;
+
+  private ResourceTypeENUM type;
+  private long amount;
+  private long lastTransactionId;
+  private LocalDateTime takenAt;
+
+  public ResourceSnapshot() {
+  }
+
+  public ResourceSnapshot(Long kingdomId, ResourceTypeENUM type, long amount, long lastTransactionId) {
+    this.kingdomId = kingdomId;
+    this.type = type;
+    this.amount = amount;
+    this.lastTransactionId = lastTransactionId;
+    this.takenAt = LocalDateTime.now();
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getKingdomId() {
+    return kingdomId;
+  }
+
+  public void setKingdomId(Long kingdomId) {
+    this.kingdomId = kingdomId;
+  }
+
+  public ResourceTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(ResourceTypeENUM type) {
+    this.type = type;
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public void setAmount(long amount) {
+    this.amount = amount;
+  }
+
+  public long getLastTransactionId() {
+    return lastTransactionId;
+  }
+
+  public void setLastTransactionId(long lastTransactionId) {
+    this.lastTransactionId = lastTransactionId;
+  }
+
+  public LocalDateTime getTakenAt() {
+    return takenAt;
+  }
+
+  public void setTakenAt(LocalDateTime takenAt) {
+    this.takenAt = takenAt;
+  }
+
+}
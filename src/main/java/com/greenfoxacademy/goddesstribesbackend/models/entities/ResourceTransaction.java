@@ -0,0 +1,91 @@
+package com.greenfoxacademy.goddesstribesbackend.models.entities;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {@Index(columnList = "kingdomId,type,id"), @Index(columnList = "createdAt")})
+public class ResourceTransaction {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, updatable = false)
+  private Long kingdomId;
+
+  @Column(updatable = false)
+  private ResourceTypeENUM type;
+
+  @Column(updatable = false)
+  private TransactionReasonENUM reason;
+
+  @Column(updatable = false)
+  private int amount;
+
+  @Column(updatable = false)
+  private LocalDateTime createdAt;
+
+  public ResourceTransaction() {
+  }
+
+  public ResourceTransaction(Long kingdomId, ResourceTypeENUM type, TransactionReasonENUM reason, int amount) {
+    this.kingdomId = kingdomId;
+    this.type = type;
+    this.reason = reason;
+    this.amount = amount;
+    this.createdAt = LocalDateTime.now();
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getKingdomId() {
+    return kingdomId;
+  }
+
+  public void setKingdomId(Long kingdomId) {
+    this.kingdomId = kingdomId;
+  }
+
+  public ResourceTypeENUM getType() {
+    return type;
+  }
+
+  public void setType(ResourceTypeENUM type) {
+    this.type = type;
+  }
+
+  public TransactionReasonENUM getReason() {
+    return reason;
+  }
+
+  public void setReason(TransactionReasonENUM reason) {
+    this.reason = reason;
+  }
+
+  public int getAmount() {
+    return amount;
+  }
+
+  public void setAmount(int amount) {
+    this.amount = amount;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+}
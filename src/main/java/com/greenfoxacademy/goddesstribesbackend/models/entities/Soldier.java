@@ -4,36 +4,56 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(columnList = "kingdomId,level"))
 public class Soldier {
 
   private static final int START_LEVEL = 1;
-  private static final int START_CONSUMPTION_RATE = 1;
+  public static final int START_CONSUMPTION_RATE = 1;
   public static final int CONSUMPTION_RATE_PER_LEVEL = 1;
   public static final int CREATION_COST = 10;
   public static final int UPGRADING_COST = 5;
   public static final int NEEDED_TIME = 1;
+  public static final int ATTACK_PER_LEVEL = 10;
+  public static final int DEFENCE_PER_LEVEL = 5;
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "soldierIdGenerator")
+  @SequenceGenerator(name = "soldierIdGenerator", sequenceName = "soldier_id_seq", allocationSize = 50)
   private Long id;
 
   private int level;
+  private int quantity;
   private int consumptionRate;
   private LocalDateTime startedAt;
   private LocalDateTime finishedAt;
+  private long pendingPower;
 
   @ManyToOne(optional = false)
-  private Barrack barrack;
+  @JoinColumn(name = "kingdomId")
+  private Kingdom kingdom;
 
   public Soldier() {
   }
 
-  public Soldier(Barrack barrack) {
-    level = START_LEVEL;
-    consumptionRate = START_CONSUMPTION_RATE;
-    startedAt = LocalDateTime.now();
-    finishedAt = startedAt.plusMinutes(NEEDED_TIME);
-    this.barrack = barrack;
+  public Soldier(Kingdom kingdom, int quantity, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    this(kingdom, START_LEVEL, quantity, startedAt, finishedAt);
+  }
+
+  public Soldier(Kingdom kingdom, int level, int quantity, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    this.level = level;
+    this.quantity = quantity;
+    consumptionRate = calculateConsumptionRate(level);
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+    this.kingdom = kingdom;
+  }
+
+  public static int calculateConsumptionRate(int level) {
+    return START_CONSUMPTION_RATE + (level - START_LEVEL) * CONSUMPTION_RATE_PER_LEVEL;
+  }
+
+  public static long calculatePower(int level, int quantity) {
+    return (long) level * (ATTACK_PER_LEVEL + DEFENCE_PER_LEVEL) * quantity;
   }
 
   public Long getId() {
@@ -52,6 +72,14 @@ public class Soldier {
     this.level = level;
   }
 
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
   public int getConsumptionRate() {
     return consumptionRate;
   }
@@ -76,12 +104,20 @@ public class Soldier {
     this.finishedAt = finishedAt;
   }
 
-  public Barrack getBarrack() {
-    return barrack;
+  public long getPendingPower() {
+    return pendingPower;
+  }
+
+  public void setPendingPower(long pendingPower) {
+    this.pendingPower = pendingPower;
+  }
+
+  public Kingdom getKingdom() {
+    return kingdom;
   }
 
-  public void setBarrack(Barrack barrack) {
-    this.barrack = barrack;
+  public void setKingdom(Kingdom kingdom) {
+    this.kingdom = kingdom;
   }
 
 }
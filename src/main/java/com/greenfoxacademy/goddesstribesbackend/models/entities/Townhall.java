@@ -1,6 +1,7 @@
 package com.greenfoxacademy.goddesstribesbackend.models.entities;
 
 import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
 
 import javax.persistence.Entity;
 import java.time.LocalDateTime;
@@ -12,8 +13,6 @@ public class Townhall extends Building {
   public static int START_GOLD_AMOUNT = 100;
   private static final int START_FOOD_CAPACITY = 1000;
   private static final int START_GOLD_CAPACITY = 1000;
-  public static final int GOLD_CAPACITY_PER_LEVEL = 1000;
-  public static final int FOOD_CAPACITY_PER_LEVEL = 1000;
 
   private int foodCapacity;
   private int goldCapacity;
@@ -32,6 +31,15 @@ public class Townhall extends Building {
     this.setType(BuildingTypeENUM.TOWNHALL);
   }
 
+  public int getCapacity(ResourceTypeENUM type) {
+    if (type.equals(ResourceTypeENUM.FOOD)) {
+      return foodCapacity;
+    } else if (type.equals(ResourceTypeENUM.GOLD)) {
+      return goldCapacity;
+    }
+    return Integer.MAX_VALUE;
+  }
+
   public int getFoodCapacity() {
     return foodCapacity;
   }
@@ -0,0 +1,96 @@
+package com.greenfoxacademy.goddesstribesbackend.models.entities;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {@Index(columnList = "kingdomId,finishedAt")})
+public class TrainingOrder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  private int quantity;
+  private int cost;
+  private LocalDateTime enqueuedAt;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "kingdomId")
+  private Kingdom kingdom;
+
+  public TrainingOrder() {
+  }
+
+  public TrainingOrder(Kingdom kingdom, int quantity, int cost, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    this.kingdom = kingdom;
+    this.quantity = quantity;
+    this.cost = cost;
+    enqueuedAt = LocalDateTime.now();
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+  }
+
+  public boolean isRunningAt(LocalDateTime time) {
+    return !startedAt.isAfter(time);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public void setCost(int cost) {
+    this.cost = cost;
+  }
+
+  public LocalDateTime getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  public void setEnqueuedAt(LocalDateTime enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  public Kingdom getKingdom() {
+    return kingdom;
+  }
+
+  public void setKingdom(Kingdom kingdom) {
+    this.kingdom = kingdom;
+  }
+
+}
@@ -4,6 +4,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import java.time.LocalDateTime;
 
 @Entity
 public class User {
@@ -16,6 +17,7 @@ public class User {
   private String password;
   private int points;
   private boolean loggedIn;
+  private LocalDateTime lastLoginAt;
 
   public User() {
   }
@@ -25,6 +27,7 @@ public class User {
     this.password = password;
     this.points = 0;
     this.loggedIn = false;
+    this.lastLoginAt = LocalDateTime.now();
    }
 
   public Long getId() {
@@ -67,4 +70,12 @@ public class User {
     this.loggedIn = loggedIn;
   }
 
+  public LocalDateTime getLastLoginAt() {
+    return lastLoginAt;
+  }
+
+  public void setLastLoginAt(LocalDateTime lastLoginAt) {
+    this.lastLoginAt = lastLoginAt;
+  }
+
 }
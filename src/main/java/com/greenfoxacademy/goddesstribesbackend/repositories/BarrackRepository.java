@@ -1,13 +1,22 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Barrack;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Repository
 public interface BarrackRepository extends CrudRepository<Barrack, Long> {
   ArrayList<Barrack> findAll();
   ArrayList<Barrack> findBarracksByKingdom_Id(Long kingdomId);
+  Optional<Barrack> findFirstByKingdom_IdAndStateNotOrderByIdAsc(Long kingdomId, BuildingStateENUM state);
+
+  @Query("select max(case when b.state = " + BuildingRepository.IDLE_STATE + " then b.level else b.level - 1 end) " +
+      "from Barrack b where b.kingdom.id = :kingdomId")
+  Integer findHighestBarrackLevel(@Param("kingdomId") Long kingdomId);
 }
@@ -0,0 +1,33 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.BuildQueueEntry;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface BuildQueueEntryRepository extends CrudRepository<BuildQueueEntry, Long> {
+  ArrayList<BuildQueueEntry> findBuildQueueEntriesByKingdom_IdOrderByIdAsc(Long kingdomId);
+  Optional<BuildQueueEntry> findBuildQueueEntryByKingdom_IdAndId(Long kingdomId, Long entryId);
+  Optional<BuildQueueEntry> findFirstByKingdom_IdAndRunningTrue(Long kingdomId);
+  Optional<BuildQueueEntry> findFirstByKingdom_IdAndRunningFalseOrderByIdAsc(Long kingdomId);
+  int countBuildQueueEntriesByKingdom_Id(Long kingdomId);
+
+  @Query("select max(e.level) from BuildQueueEntry e where e.kingdom.id = :kingdomId and e.buildingId = :buildingId")
+  Integer findHighestQueuedLevel(@Param("kingdomId") Long kingdomId, @Param("buildingId") Long buildingId);
+
+  @Query("select distinct e.kingdom.id from BuildQueueEntry e")
+  ArrayList<Long> findQueuedKingdomIds();
+
+  @Modifying
+  @Transactional
+  @Query("delete from BuildQueueEntry e where e.kingdom.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+}
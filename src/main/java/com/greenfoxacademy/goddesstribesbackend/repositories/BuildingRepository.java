@@ -1,16 +1,90 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface BuildingRepository extends CrudRepository<Building, Long> {
+  String IDLE_STATE = "com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM.IDLE";
+  String UPGRADING_STATE = "com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM.UPGRADING";
+  String IN_PROGRESS_STATES = "com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM.CONSTRUCTING, " +
+      UPGRADING_STATE;
+  String BULK_UPGRADE_SET = "b.level = :level, b.upgradeCost = :upgradeCost, b.startedAt = :startedAt, " +
+      "b.finishedAt = :finishedAt, b.state = " + UPGRADING_STATE + ", b.version = b.version + 1";
+  String BULK_UPGRADE_WHERE = "b.id in :buildingIds and b.level = :level - 1 and b.state = " + IDLE_STATE;
+  String UPGRADE_WHERE = "b.id = :buildingId and b.level = :level - 1 and b.state = " + IDLE_STATE;
+
   ArrayList<Building> findAll();
   ArrayList<Building> findBuildingsByKingdom_Id(Long kingdomId);
   Optional<Building> findBuildingByKingdom_IdAndId(Long kingdomId, Long buildingId);
+  Optional<Building> findFirstByKingdom_IdAndTypeOrderByIdAsc(Long kingdomId, BuildingTypeENUM type);
   int countBuildingsByKingdom_Id(Long kingdomId);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent(" +
+      "com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM.BUILDING, b.id, b.kingdom.id, b.finishedAt) " +
+      "from Building b where b.state in (" + IN_PROGRESS_STATES + ") and b.finishedAt > :time")
+  ArrayList<CompletionEvent> findPendingCompletions(@Param("time") LocalDateTime time);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingDTO(" +
+      "b.id, b.type, case when b.state = " + IDLE_STATE + " then b.level else b.level - 1 end, b.startedAt, b.finishedAt) " +
+      "from Building b where b.kingdom.user.username = :username order by b.id")
+  ArrayList<BuildingDTO> findBuildingDTOsByUsername(@Param("username") String username);
+
+  @Modifying
+  @Transactional
+  @Query("update Building b set b.state = " + IDLE_STATE + ", b.version = b.version + 1 " +
+      "where b.id = :buildingId and b.state in (" + IN_PROGRESS_STATES + ") and b.finishedAt <= :time")
+  int completeBuilding(@Param("buildingId") Long buildingId, @Param("time") LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("update Building b set b.state = " + IDLE_STATE + ", b.version = b.version + 1 " +
+      "where b.state in (" + IN_PROGRESS_STATES + ") and b.finishedAt <= :time")
+  int completeFinishedBuildings(@Param("time") LocalDateTime time);
+
+  @Query("select b.id from Building b where b.kingdom.id = :kingdomId and b.type = :type " +
+      "and b.level = :level - 1 and b.state = " + IDLE_STATE + " order by b.id")
+  ArrayList<Long> findUpgradableBuildingIds(@Param("kingdomId") Long kingdomId, @Param("type") BuildingTypeENUM type,
+                                            @Param("level") int level, Pageable pageable);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select b from Building b where " + BULK_UPGRADE_WHERE + " order by b.id")
+  ArrayList<Building> lockUpgradableBuildings(@Param("buildingIds") Collection<Long> buildingIds,
+                                              @Param("level") int level);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Building b set " + BULK_UPGRADE_SET + " where " + BULK_UPGRADE_WHERE)
+  int upgradeBuildings(@Param("buildingIds") Collection<Long> buildingIds, @Param("level") int level,
+                       @Param("upgradeCost") int upgradeCost, @Param("startedAt") LocalDateTime startedAt,
+                       @Param("finishedAt") LocalDateTime finishedAt);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Building b set " + BULK_UPGRADE_SET + " where " + UPGRADE_WHERE)
+  int upgradeBuilding(@Param("buildingId") Long buildingId, @Param("level") int level,
+                      @Param("upgradeCost") int upgradeCost, @Param("startedAt") LocalDateTime startedAt,
+                      @Param("finishedAt") LocalDateTime finishedAt);
+
+  @Modifying
+  @Transactional
+  @Query("delete from Building b where b.kingdom.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
 }
@@ -1,14 +1,73 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomRates;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface KingdomRepository extends CrudRepository<Kingdom, Long> {
   Optional<Kingdom> findKingdomByUser_Username(String username);
   ArrayList<Kingdom> findAll();
+  ArrayList<Kingdom> findAllByOrderByArmyPowerDesc();
+
+  @Modifying
+  @Transactional
+  @Query("update Kingdom k set k.active = true where k.id = :kingdomId and k.active = false")
+  int activateKingdom(@Param("kingdomId") Long kingdomId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select k from Kingdom k where k.id = :kingdomId")
+  Optional<Kingdom> lockKingdom(@Param("kingdomId") Long kingdomId);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.KingdomRates(" +
+      "k.foodProductionRate, k.goldProductionRate, k.foodUpkeepRate) from Kingdom k where k.id = :kingdomId")
+  Optional<KingdomRates> findKingdomRates(@Param("kingdomId") Long kingdomId);
+
+  @Query("select k.id from Kingdom k where k.foodUpkeepRate > 0")
+  ArrayList<Long> findKingdomIdsWithFoodUpkeep();
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Kingdom k set k.foodProductionRate = k.foodProductionRate + :delta where k.id = :kingdomId")
+  int addFoodProductionRate(@Param("kingdomId") Long kingdomId, @Param("delta") int delta);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Kingdom k set k.goldProductionRate = k.goldProductionRate + :delta where k.id = :kingdomId")
+  int addGoldProductionRate(@Param("kingdomId") Long kingdomId, @Param("delta") int delta);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Kingdom k set k.foodUpkeepRate = k.foodUpkeepRate + :delta where k.id = :kingdomId")
+  int addFoodUpkeepRate(@Param("kingdomId") Long kingdomId, @Param("delta") int delta);
+
+  @Modifying
+  @Transactional
+  @Query("update Kingdom k set k.soldierCount = k.soldierCount + :soldiers, k.armyPower = k.armyPower + :power " +
+      "where k.id = :kingdomId")
+  int addArmy(@Param("kingdomId") Long kingdomId, @Param("soldiers") int soldiers, @Param("power") long power);
+
+  @Query("select k.id from Kingdom k where k.user.lastLoginAt < :time order by k.id")
+  ArrayList<Long> findAbandonedKingdomIds(@Param("time") LocalDateTime time, Pageable pageable);
+
+  @Query("select k.user.id from Kingdom k where k.id in :kingdomIds")
+  ArrayList<Long> findUserIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+
+  @Modifying
+  @Transactional
+  @Query("delete from Kingdom k where k.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
 }
@@ -1,14 +1,36 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
 import com.greenfoxacademy.goddesstribesbackend.models.entities.ProductionBuilding;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface ProductionBuildingRepository extends CrudRepository<ProductionBuilding, Long> {
   ArrayList<ProductionBuilding> findAll();
   Optional<ProductionBuilding> findById(Long productionBuildingId);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update ProductionBuilding b set " + BuildingRepository.BULK_UPGRADE_SET + ", b.productionRate = :productionRate " +
+      "where " + BuildingRepository.BULK_UPGRADE_WHERE)
+  int upgradeProductionBuildings(@Param("buildingIds") Collection<Long> buildingIds, @Param("level") int level,
+                                 @Param("upgradeCost") int upgradeCost, @Param("startedAt") LocalDateTime startedAt,
+                                 @Param("finishedAt") LocalDateTime finishedAt, @Param("productionRate") int productionRate);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update ProductionBuilding b set " + BuildingRepository.BULK_UPGRADE_SET + ", b.productionRate = :productionRate " +
+      "where " + BuildingRepository.UPGRADE_WHERE)
+  int upgradeProductionBuilding(@Param("buildingId") Long buildingId, @Param("level") int level,
+                                @Param("upgradeCost") int upgradeCost, @Param("startedAt") LocalDateTime startedAt,
+                                @Param("finishedAt") LocalDateTime finishedAt, @Param("productionRate") int productionRate);
 }
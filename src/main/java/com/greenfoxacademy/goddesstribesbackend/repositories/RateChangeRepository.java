@@ -0,0 +1,36 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.RateChange;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Repository
+public interface RateChangeRepository extends CrudRepository<RateChange, Long> {
+  ArrayList<RateChange> findRateChangesByKingdom_IdAndEffectiveAtAfterOrderByEffectiveAt(Long kingdomId, LocalDateTime time);
+  ArrayList<RateChange> findRateChangesByKingdom_IdAndUpkeepTrueAndEffectiveAtAfterOrderByEffectiveAt(Long kingdomId,
+                                                                                                     LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("delete from RateChange r where r.kingdom.id = :kingdomId and r.effectiveAt <= :time")
+  int deleteRateChangesUntil(@Param("kingdomId") Long kingdomId, @Param("time") LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("delete from RateChange c where c.effectiveAt <= :time and not exists " +
+      "(select r.id from Resource r where r.townhall.kingdom.id = c.kingdom.id and r.updateTime < c.effectiveAt)")
+  int deleteConsumedRateChanges(@Param("time") LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("delete from RateChange r where r.kingdom.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+}
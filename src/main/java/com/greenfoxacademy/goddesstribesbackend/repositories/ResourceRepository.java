@@ -2,14 +2,89 @@ package com.greenfoxacademy.goddesstribesbackend.repositories;
 
 import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface ResourceRepository extends CrudRepository<Resource, Long> {
+  String TICK_TOWNHALL = "t.id = resource.townhall_id";
+  String TICK_BOUNDARY = "coalesce((select min(c.effective_at) from rate_change c " +
+      "join building t on t.kingdom_id = c.kingdom_id where " + TICK_TOWNHALL + " " +
+      "and c.effective_at > resource.update_time and c.effective_at <= :now), :now)";
+  String TICK_RATE = "((select case when resource.type = :foodType " +
+      "then k.food_production_rate - k.food_upkeep_rate else k.gold_production_rate end " +
+      "from kingdom k join building t on t.kingdom_id = k.id where " + TICK_TOWNHALL + ") - " +
+      "coalesce((select sum(c.delta) from rate_change c join building t on t.kingdom_id = c.kingdom_id " +
+      "where " + TICK_TOWNHALL + " and c.type = resource.type and c.effective_at > resource.update_time), 0))";
+  String TICK_CAPACITY = "(select case when resource.type = :foodType then t.food_capacity else t.gold_capacity end " +
+      "from building t where " + TICK_TOWNHALL + ")";
+  String TICK_GAIN = "truncate(" + TICK_RATE + " * timestampdiff(SECOND, resource.update_time, " + TICK_BOUNDARY +
+      ") / 60, 0)";
+  String TICK_AMOUNT = "(case when " + TICK_RATE + " > 0 " +
+      "then least(resource.amount + " + TICK_GAIN + ", greatest(resource.amount, " + TICK_CAPACITY + ")) " +
+      "else resource.amount + " + TICK_GAIN + " end)";
+  String TICK_UPDATE_TIME = "(case when " + TICK_RATE + " = 0 or " + TICK_BOUNDARY + " < :now then " + TICK_BOUNDARY +
+      " else timestampadd(SECOND, ceil(" + TICK_GAIN + " * 60.0 / " + TICK_RATE + "), resource.update_time) end)";
+  String TICK_SELECTION = "resource.id > :fromId and resource.id <= :toId " +
+      "and timestampdiff(SECOND, resource.update_time, :now) >= :minElapsedSeconds";
+
   ArrayList<Resource> findResourcesByTownhall_Kingdom_Id(Long kingdomId);
   Optional<Resource> findResourceByTownhall_Kingdom_IdAndType(Long kingdomId, ResourceTypeENUM type);
+
+  @Query("select r from Resource r join fetch r.townhall t join fetch t.kingdom k join fetch k.user " +
+      "where k.id = :kingdomId")
+  ArrayList<Resource> findKingdomResources(@Param("kingdomId") Long kingdomId);
+
+  @Query("select r from Resource r join fetch r.townhall t join fetch t.kingdom k join fetch k.user " +
+      "where k.id in :kingdomIds")
+  ArrayList<Resource> findKingdomResourcesIn(@Param("kingdomIds") Collection<Long> kingdomIds);
+
+  @Modifying
+  @Transactional
+  @Query("update Resource r set r.amount = r.amount - :cost, r.version = r.version + 1 " +
+      "where r.type = :type and r.amount >= :cost " +
+      "and r.townhall.id in (select t.id from Townhall t where t.kingdom.id = :kingdomId)")
+  int debitResource(@Param("kingdomId") Long kingdomId, @Param("type") ResourceTypeENUM type, @Param("cost") int cost);
+
+  @Modifying
+  @Transactional
+  @Query("update Resource r set r.amount = r.amount + :amount, r.version = r.version + 1 " +
+      "where r.type = :type " +
+      "and r.townhall.id in (select t.id from Townhall t where t.kingdom.id = :kingdomId)")
+  int creditResource(@Param("kingdomId") Long kingdomId, @Param("type") ResourceTypeENUM type, @Param("amount") int amount);
+
+  @Query("select coalesce(max(r.id), 0) from Resource r")
+  long findLastResourceId();
+
+  @Modifying
+  @Query(value = "insert into resource_transaction (kingdom_id, type, reason, amount, created_at) " +
+      "select (select t.kingdom_id from building t where " + TICK_TOWNHALL + "), resource.type, " +
+      "case when " + TICK_AMOUNT + " < resource.amount then :upkeepReason else :productionReason end, " +
+      TICK_AMOUNT + " - resource.amount, :now from resource " +
+      "where " + TICK_SELECTION + " and " + TICK_AMOUNT + " <> resource.amount", nativeQuery = true)
+  int recordAdvanceTransactions(@Param("fromId") long fromId, @Param("toId") long toId,
+                                @Param("now") LocalDateTime now, @Param("minElapsedSeconds") long minElapsedSeconds,
+                                @Param("foodType") int foodType, @Param("productionReason") int productionReason,
+                                @Param("upkeepReason") int upkeepReason);
+
+  @Modifying
+  @Query(value = "update resource set amount = " + TICK_AMOUNT + ", update_time = " + TICK_UPDATE_TIME + ", " +
+      "version = version + 1 where " + TICK_SELECTION, nativeQuery = true)
+  int advanceResources(@Param("fromId") long fromId, @Param("toId") long toId,
+                       @Param("now") LocalDateTime now, @Param("minElapsedSeconds") long minElapsedSeconds,
+                       @Param("foodType") int foodType);
+
+  @Modifying
+  @Transactional
+  @Query("delete from Resource r where r.townhall.id in (select t.id from Townhall t where t.kingdom.id in :kingdomIds)")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
 }
@@ -0,0 +1,31 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceSnapshot;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ResourceSnapshotRepository extends CrudRepository<ResourceSnapshot, Long> {
+  Optional<ResourceSnapshot> findFirstByKingdomIdAndTypeOrderByLastTransactionIdDesc(Long kingdomId, ResourceTypeENUM type);
+
+  @Query("select coalesce(max(s.lastTransactionId), 0) from ResourceSnapshot s")
+  long findLastSnapshotTransactionId();
+
+  @Query("select s from ResourceSnapshot s where s.kingdomId in :kingdomIds and s.lastTransactionId = " +
+      "(select max(l.lastTransactionId) from ResourceSnapshot l where l.kingdomId = s.kingdomId and l.type = s.type)")
+  ArrayList<ResourceSnapshot> findLatestSnapshots(@Param("kingdomIds") Collection<Long> kingdomIds);
+
+  @Modifying
+  @Transactional
+  @Query("delete from ResourceSnapshot s where s.kingdomId in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+}
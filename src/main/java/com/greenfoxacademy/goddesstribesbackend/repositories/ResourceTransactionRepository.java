@@ -0,0 +1,34 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceTransaction;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Repository
+public interface ResourceTransactionRepository extends CrudRepository<ResourceTransaction, Long> {
+  @Query("select coalesce(max(t.id), 0) from ResourceTransaction t where t.createdAt < :time")
+  long findLastTransactionIdBefore(@Param("time") LocalDateTime time);
+
+  @Query("select coalesce(sum(t.amount), 0) from ResourceTransaction t " +
+      "where t.kingdomId = :kingdomId and t.type = :type and t.id > :afterId")
+  long sumAmountsAfter(@Param("kingdomId") Long kingdomId, @Param("type") ResourceTypeENUM type,
+                       @Param("afterId") long afterId);
+
+  @Query("select t.kingdomId, t.type, sum(t.amount) from ResourceTransaction t " +
+      "where t.id > :afterId and t.id <= :untilId group by t.kingdomId, t.type")
+  ArrayList<Object[]> sumAmountsBetween(@Param("afterId") long afterId, @Param("untilId") long untilId);
+
+  @Modifying
+  @Transactional
+  @Query("delete from ResourceTransaction t where t.kingdomId in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+}
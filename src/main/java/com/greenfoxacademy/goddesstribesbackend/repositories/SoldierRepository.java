@@ -1,13 +1,66 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldierDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
 
 @Repository
 public interface SoldierRepository extends CrudRepository<Soldier, Long> {
-  ArrayList<Soldier> findSoldiersByBarrack_Kingdom_Id(Long kingdomId);
-  int countSoldiersByBarrack_Kingdom_Id(Long kingdomId);
+  ArrayList<Soldier> findSoldiersByKingdom_Id(Long kingdomId);
+  Optional<Soldier> findSoldierByKingdom_IdAndId(Long kingdomId, Long soldierId);
+  Optional<Soldier> findFirstByKingdom_IdAndLevelAndFinishedAtLessThanEqualOrderByIdAsc(Long kingdomId, int level,
+                                                                                    LocalDateTime time);
+  Optional<Soldier> findFirstByKingdom_IdAndLevelAndIdNotAndFinishedAtLessThanEqualOrderByIdAsc(
+      Long kingdomId, int level, Long soldierId, LocalDateTime time);
+  ArrayList<Soldier> findSoldiersByKingdom_IdAndFinishedAtBeforeOrderByConsumptionRateDesc(Long kingdomId, LocalDateTime time);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent(" +
+      "com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM.SOLDIER, s.id, s.kingdom.id, s.finishedAt) " +
+      "from Soldier s where s.finishedAt > :time or s.pendingPower <> 0")
+  ArrayList<CompletionEvent> findPendingCompletions(@Param("time") LocalDateTime time);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldierDTO(" +
+      "s.id, case when s.finishedAt > :now then s.level - 1 else s.level end, s.quantity, s.startedAt, s.finishedAt) " +
+      "from Soldier s where s.kingdom.id = :kingdomId order by s.level, s.id")
+  ArrayList<SoldierDTO> findSoldierDTOsByKingdomId(@Param("kingdomId") Long kingdomId, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Transactional
+  @Query("update Soldier s set s.quantity = s.quantity + :quantity where s.id = :soldierId")
+  int addSoldiers(@Param("soldierId") Long soldierId, @Param("quantity") int quantity);
+
+  @Modifying
+  @Transactional
+  @Query("update Soldier s set s.quantity = s.quantity - :quantity " +
+      "where s.id = :soldierId and s.level = :level and s.quantity >= :quantity and s.finishedAt <= :time")
+  int removeSoldiers(@Param("soldierId") Long soldierId, @Param("level") int level, @Param("quantity") int quantity,
+                     @Param("time") LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("update Soldier s set s.pendingPower = 0 " +
+      "where s.id = :soldierId and s.pendingPower = :pendingPower and s.finishedAt <= :time")
+  int clearPendingPower(@Param("soldierId") Long soldierId, @Param("pendingPower") long pendingPower,
+                        @Param("time") LocalDateTime time);
+
+  @Modifying
+  @Transactional
+  @Query("delete from Soldier s where s.id = :soldierId and s.quantity = 0")
+  int deleteIfEmpty(@Param("soldierId") Long soldierId);
+
+  @Modifying
+  @Transactional
+  @Query("delete from Soldier s where s.kingdom.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
 }
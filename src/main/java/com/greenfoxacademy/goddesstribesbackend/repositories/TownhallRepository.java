@@ -1,9 +1,14 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -12,4 +17,13 @@ public interface TownhallRepository extends CrudRepository<Townhall, Long> {
   ArrayList<Townhall> findAll();
   ArrayList<Townhall> findTownhallsByKingdom_Id(Long kingdomId);
   Optional<Townhall> findById(Long townhallId);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  @Query("update Townhall b set " + BuildingRepository.BULK_UPGRADE_SET + ", b.foodCapacity = :foodCapacity, " +
+      "b.goldCapacity = :goldCapacity where " + BuildingRepository.UPGRADE_WHERE)
+  int upgradeTownhall(@Param("buildingId") Long buildingId, @Param("level") int level,
+                      @Param("upgradeCost") int upgradeCost, @Param("startedAt") LocalDateTime startedAt,
+                      @Param("finishedAt") LocalDateTime finishedAt, @Param("foodCapacity") int foodCapacity,
+                      @Param("goldCapacity") int goldCapacity);
 }
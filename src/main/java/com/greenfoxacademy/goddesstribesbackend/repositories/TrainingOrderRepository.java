@@ -0,0 +1,36 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.TrainingOrder;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface TrainingOrderRepository extends CrudRepository<TrainingOrder, Long> {
+  ArrayList<TrainingOrder> findTrainingOrdersByKingdom_IdOrderByIdAsc(Long kingdomId);
+  ArrayList<TrainingOrder> findTrainingOrdersByKingdom_IdAndFinishedAtLessThanEqualOrderByIdAsc(Long kingdomId, LocalDateTime time);
+  Optional<TrainingOrder> findFirstByKingdom_IdOrderByFinishedAtDesc(Long kingdomId);
+  int countTrainingOrdersByKingdom_Id(Long kingdomId);
+
+  @Query("select new com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent(" +
+      "com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM.TRAINING, o.id, o.kingdom.id, o.finishedAt) " +
+      "from TrainingOrder o where o.finishedAt > :time")
+  ArrayList<CompletionEvent> findPendingCompletions(@Param("time") LocalDateTime time);
+
+  @Query("select distinct o.kingdom.id from TrainingOrder o")
+  ArrayList<Long> findQueuedKingdomIds();
+
+  @Modifying
+  @Transactional
+  @Query("delete from TrainingOrder o where o.kingdom.id in :kingdomIds")
+  int deleteByKingdomIds(@Param("kingdomIds") Collection<Long> kingdomIds);
+}
@@ -1,13 +1,23 @@
 package com.greenfoxacademy.goddesstribesbackend.repositories;
 
 import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long> {
   Optional<User> findUserByUsername(String username);
   Optional<User> findUserByUsernameAndPassword(String username, String password);
+
+  @Modifying
+  @Transactional
+  @Query("delete from User u where u.id in :userIds")
+  int deleteByIds(@Param("userIds") Collection<Long> userIds);
 }
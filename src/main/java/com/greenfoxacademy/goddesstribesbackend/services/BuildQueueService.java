@@ -0,0 +1,197 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomSnapshot;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildQueueDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildQueueEntryDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.BuildQueueEntry;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BuildQueueEntryRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class BuildQueueService {
+
+  private static final Logger logger = LoggerFactory.getLogger(BuildQueueService.class);
+
+  private int slots;
+  private BuildQueueEntryRepository buildQueueEntryRepository;
+  private KingdomRepository kingdomRepository;
+  private KingdomSnapshotService kingdomSnapshotService;
+  private BuildingService buildingService;
+  private ProductionService productionService;
+
+  @Autowired
+  public BuildQueueService(@Value("${buildings.queue.slots:5}") int slots,
+                           BuildQueueEntryRepository buildQueueEntryRepository, KingdomRepository kingdomRepository,
+                           KingdomSnapshotService kingdomSnapshotService, BuildingService buildingService,
+                           ProductionService productionService) {
+    this.slots = slots;
+    this.buildQueueEntryRepository = buildQueueEntryRepository;
+    this.kingdomRepository = kingdomRepository;
+    this.kingdomSnapshotService = kingdomSnapshotService;
+    this.buildingService = buildingService;
+    this.productionService = productionService;
+  }
+
+  public boolean isQueueFull(Long kingdomId) {
+    return buildQueueEntryRepository.countBuildQueueEntriesByKingdom_Id(kingdomId) >= slots;
+  }
+
+  public boolean isValidQueuedLevel(Long kingdomId, Building building, Integer level) {
+    if (level == null || level > buildingService.findMaxLevel(building.getType())) return false;
+    if (level != findProjectedLevel(kingdomId, building) + 1) return false;
+    if (building.getType().equals(BuildingTypeENUM.TOWNHALL)) return true;
+
+    KingdomSnapshot snapshot = kingdomSnapshotService.findSnapshot(kingdomId);
+    if (snapshot == null) return false;
+
+    Integer queuedTownhallLevel = buildQueueEntryRepository.findHighestQueuedLevel(kingdomId, snapshot.getTownhallId());
+    int projectedTownhallLevel = queuedTownhallLevel == null
+        ? snapshot.getTownhallLevel() : Math.max(snapshot.getTownhallLevel(), queuedTownhallLevel);
+    return level <= projectedTownhallLevel;
+  }
+
+  public BuildQueueEntry findEntryByKingdomAndEntryId(Long kingdomId, Long entryId) {
+    return buildQueueEntryRepository.findBuildQueueEntryByKingdom_IdAndId(kingdomId, entryId).orElse(null);
+  }
+
+  @Transactional
+  public BuildQueueEntry enqueueBuilding(Kingdom kingdom, BuildingTypeENUM type, int cost) {
+    return enqueue(new BuildQueueEntry(kingdom, type, cost));
+  }
+
+  @Transactional
+  public BuildQueueEntry enqueueUpgrade(Kingdom kingdom, Building building, Integer level, int cost) {
+    return enqueue(new BuildQueueEntry(kingdom, building.getType(), building.getId(), level, cost));
+  }
+
+  private BuildQueueEntry enqueue(BuildQueueEntry entry) {
+    Long kingdomId = entry.getKingdom().getId();
+    if (!kingdomRepository.lockKingdom(kingdomId).isPresent() || isQueueFull(kingdomId)) return null;
+
+    return productionService.purchase(kingdomId, entry.getCost(), TransactionReasonENUM.BUILDING_COST, () -> {
+      BuildQueueEntry savedEntry = buildQueueEntryRepository.save(entry);
+      advanceQueue(kingdomId);
+      return buildQueueEntryRepository.findById(savedEntry.getId()).orElse(savedEntry);
+    });
+  }
+
+  @Transactional
+  public boolean cancelEntry(Long kingdomId, Long entryId) {
+    if (!kingdomRepository.lockKingdom(kingdomId).isPresent()) return false;
+
+    BuildQueueEntry entry = findEntryByKingdomAndEntryId(kingdomId, entryId);
+    if (entry == null || entry.isRunning()) return false;
+
+    refund(entry);
+    return true;
+  }
+
+  @EventListener
+  @Transactional
+  public void onCompletion(CompletionEvent completion) {
+    if (completion.getType() != CompletionTypeENUM.BUILDING) return;
+    advanceQueue(completion.getKingdomId());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void resumeQueues() {
+    ArrayList<Long> kingdomIds = buildQueueEntryRepository.findQueuedKingdomIds();
+    for (Long kingdomId : kingdomIds) {
+      advanceQueue(kingdomId);
+    }
+    logger.info("Resumed build queues of {} kingdoms", kingdomIds.size());
+  }
+
+  @Transactional
+  public void advanceQueue(Long kingdomId) {
+    if (!kingdomRepository.lockKingdom(kingdomId).isPresent()) return;
+
+    LocalDateTime now = LocalDateTime.now();
+    Optional<BuildQueueEntry> runningEntry = buildQueueEntryRepository.findFirstByKingdom_IdAndRunningTrue(kingdomId);
+    if (runningEntry.isPresent()) {
+      Building building = buildingService.findBuildingByKingdomAndBuildingId(kingdomId, runningEntry.get().getBuildingId());
+      if (building != null && building.getFinishedAt().isAfter(now)) return;
+      buildQueueEntryRepository.delete(runningEntry.get());
+    }
+
+    Optional<BuildQueueEntry> nextEntry;
+    while ((nextEntry = buildQueueEntryRepository.findFirstByKingdom_IdAndRunningFalseOrderByIdAsc(kingdomId)).isPresent()) {
+      BuildQueueEntry entry = nextEntry.get();
+      Building building = start(kingdomId, entry);
+      if (building != null) {
+        entry.setRunning(true);
+        entry.setBuildingId(building.getId());
+        entry.setStartedAt(now);
+        buildQueueEntryRepository.save(entry);
+        return;
+      }
+      refund(entry);
+    }
+  }
+
+  private Building start(Long kingdomId, BuildQueueEntry entry) {
+    if (!entry.isUpgrade()) {
+      return buildingService.createBuilding(entry.getKingdom(), entry.getType().name());
+    }
+
+    Building building = buildingService.findBuildingByKingdomAndBuildingId(kingdomId, entry.getBuildingId());
+    if (building == null || !buildingService.isValidLevel(entry.getLevel(), building.getLevel(), kingdomId, building.getType())) {
+      return null;
+    }
+
+    if (building.getType().equals(BuildingTypeENUM.TOWNHALL)) {
+      return buildingService.upgradeTownhall(kingdomId, building.getId(), entry.getLevel());
+    }
+    if (building.getType().equals(BuildingTypeENUM.MINE) || building.getType().equals(BuildingTypeENUM.FARM)) {
+      return buildingService.upgradeProductionBuilding(kingdomId, building.getId(), entry.getLevel());
+    }
+    return buildingService.upgradeBuilding(kingdomId, building.getId(), entry.getLevel());
+  }
+
+  private void refund(BuildQueueEntry entry) {
+    buildQueueEntryRepository.delete(entry);
+    productionService.creditResource(entry.getKingdom().getId(), ResourceTypeENUM.GOLD, entry.getCost(),
+        TransactionReasonENUM.BUILD_QUEUE_REFUND);
+  }
+
+  private int findProjectedLevel(Long kingdomId, Building building) {
+    Integer queuedLevel = buildQueueEntryRepository.findHighestQueuedLevel(kingdomId, building.getId());
+    return queuedLevel == null ? building.getLevel() : Math.max(building.getLevel(), queuedLevel);
+  }
+
+  public BuildQueueDTO createBuildQueueDTO(Long kingdomId) {
+    List<BuildQueueEntryDTO> entryDTOList = new ArrayList<>();
+    for (BuildQueueEntry entry : buildQueueEntryRepository.findBuildQueueEntriesByKingdom_IdOrderByIdAsc(kingdomId)) {
+      entryDTOList.add(createBuildQueueEntryDTO(entry));
+    }
+    return new BuildQueueDTO(slots, entryDTOList);
+  }
+
+  public BuildQueueEntryDTO createBuildQueueEntryDTO(BuildQueueEntry entry) {
+    return new BuildQueueEntryDTO(entry.getId(), entry.getType(), entry.getBuildingId(), entry.getLevel(),
+        entry.getCost(), entry.isRunning(), Timestamp.valueOf(entry.getEnqueuedAt()));
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingCatalog;
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+@Service
+public class BuildingCatalogService {
+
+  private static final Logger logger = LoggerFactory.getLogger(BuildingCatalogService.class);
+  private static final String DEFAULT_DEFINITION = "building-catalog.properties";
+
+  private String definitionPath;
+  private long definitionModifiedAt;
+  private volatile BuildingCatalog catalog;
+
+  @Autowired
+  public BuildingCatalogService(@Value("${buildings.catalog.path:}") String definitionPath) {
+    this.definitionPath = definitionPath;
+    this.catalog = loadCatalog();
+  }
+
+  public BuildingCatalog getCatalog() {
+    return catalog;
+  }
+
+  @Scheduled(fixedDelayString = "${buildings.catalog.reload-interval-millis:60000}")
+  public void reloadIfChanged() {
+    if (definitionPath.isEmpty()) return;
+    if (new File(definitionPath).lastModified() == definitionModifiedAt) return;
+    reload();
+  }
+
+  public synchronized boolean reload() {
+    try {
+      BuildingCatalog loadedCatalog = loadCatalog();
+      for (BuildingTypeENUM type : BuildingTypeENUM.values()) {
+        if (loadedCatalog.getMaxLevel(type) < catalog.getMaxLevel(type)) {
+          throw new IllegalArgumentException(type.name().toLowerCase() + ".max-level cannot be lowered from "
+              + catalog.getMaxLevel(type) + " to " + loadedCatalog.getMaxLevel(type));
+        }
+      }
+      catalog = loadedCatalog;
+      logger.info("Reloaded building catalog from {}", definitionPath.isEmpty() ? DEFAULT_DEFINITION : definitionPath);
+      return true;
+    } catch (RuntimeException e) {
+      logger.error("Building catalog reload failed, keeping the current catalog", e);
+      return false;
+    }
+  }
+
+  private BuildingCatalog loadCatalog() {
+    Properties definition = new Properties();
+    long modifiedAt = definitionPath.isEmpty() ? 0 : new File(definitionPath).lastModified();
+    try (InputStream input = openDefinition();
+         Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+      definition.load(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read building catalog definition", e);
+    }
+
+    BuildingCatalog loadedCatalog = BuildingCatalog.fromProperties(definition);
+    definitionModifiedAt = modifiedAt;
+    return loadedCatalog;
+  }
+
+  private InputStream openDefinition() throws IOException {
+    if (!definitionPath.isEmpty()) return new FileInputStream(definitionPath);
+
+    InputStream input = BuildingCatalogService.class.getClassLoader().getResourceAsStream(DEFAULT_DEFINITION);
+    if (input == null) throw new IOException(DEFAULT_DEFINITION + " is missing from the classpath");
+    return input;
+  }
+
+}
@@ -1,42 +1,71 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingCatalog;
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomSnapshot;
 import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingUpgradeSummaryDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingsDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.*;
 import com.greenfoxacademy.goddesstribesbackend.repositories.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BuildingService {
 
+  private static final Logger logger = LoggerFactory.getLogger(BuildingService.class);
+
   private KingdomRepository kingdomRepository;
   private BuildingRepository buildingRepository;
   private FarmRepository farmRepository;
   private MineRepository mineRepository;
-  private ResourceRepository resourceRepository;
   private TownhallRepository townhallRepository;
   private ProductionBuildingRepository productionBuildingRepository;
+  private RateService rateService;
+  private CompletionService completionService;
+  private KingdomSnapshotService kingdomSnapshotService;
+  private BuildingCatalogService buildingCatalogService;
+  private StarterKingdomService starterKingdomService;
 
   @Autowired
   public BuildingService(KingdomRepository kingdomRepository, BuildingRepository buildingRepository,
                          FarmRepository farmRepository, MineRepository mineRepository,
-                         ResourceRepository resourceRepository, TownhallRepository townhallRepository,
-                         ProductionBuildingRepository productionBuildingRepository) {
+                         TownhallRepository townhallRepository, ProductionBuildingRepository productionBuildingRepository,
+                         RateService rateService, CompletionService completionService,
+                         KingdomSnapshotService kingdomSnapshotService, BuildingCatalogService buildingCatalogService,
+                         StarterKingdomService starterKingdomService) {
     this.kingdomRepository = kingdomRepository;
     this.buildingRepository = buildingRepository;
     this.farmRepository = farmRepository;
     this.mineRepository = mineRepository;
-    this.resourceRepository = resourceRepository;
     this.townhallRepository = townhallRepository;
     this.productionBuildingRepository = productionBuildingRepository;
+    this.rateService = rateService;
+    this.completionService = completionService;
+    this.kingdomSnapshotService = kingdomSnapshotService;
+    this.buildingCatalogService = buildingCatalogService;
+    this.starterKingdomService = starterKingdomService;
   }
 
   public boolean isValidBuildingType(String type) {
@@ -48,21 +77,59 @@ public class BuildingService {
     return false;
   }
 
-  public Townhall saveTownhall(Kingdom kingdom) {
-    Townhall townhall = new Townhall(kingdom, LocalDateTime.now().minusMinutes(Building.CREATION_TIME));
+  public Townhall saveTownhall(Kingdom kingdom, LocalDateTime finishedAt) {
+    Townhall townhall = (Townhall) instantiateFinishedBuilding(kingdom, BuildingTypeENUM.TOWNHALL, finishedAt);
     return buildingRepository.save(townhall);
   }
 
-  public Farm saveFarmAtStart(Kingdom kingdom) {
-    Farm farm = new Farm(kingdom, LocalDateTime.now().minusMinutes(Building.CREATION_TIME));
+  public Farm saveFarmAtStart(Kingdom kingdom, LocalDateTime finishedAt) {
+    Farm farm = (Farm) instantiateFinishedBuilding(kingdom, BuildingTypeENUM.FARM, finishedAt);
+    rateService.addProductionRate(kingdom, farm.getType(), farm.getProductionRate(), farm.getFinishedAt());
     return buildingRepository.save(farm);
   }
 
-  public Mine saveMineAtStart(Kingdom kingdom) {
-    Mine mine = new Mine(kingdom, LocalDateTime.now().minusMinutes(Building.CREATION_TIME));
+  public Mine saveMineAtStart(Kingdom kingdom, LocalDateTime finishedAt) {
+    Mine mine = (Mine) instantiateFinishedBuilding(kingdom, BuildingTypeENUM.MINE, finishedAt);
+    rateService.addProductionRate(kingdom, mine.getType(), mine.getProductionRate(), mine.getFinishedAt());
     return buildingRepository.save(mine);
   }
 
+  public BuildingCatalog findCatalog() {
+    return buildingCatalogService.getCatalog();
+  }
+
+  public int findCreationCost(String type) {
+    return findCreationCost(buildingCatalogService.getCatalog(), type);
+  }
+
+  public int findCreationCost(BuildingCatalog catalog, String type) {
+    return catalog.getCost(BuildingTypeENUM.valueOf(type.toUpperCase()), 1);
+  }
+
+  public int calculateCreationCost(List<String> types) {
+    return calculateCreationCost(buildingCatalogService.getCatalog(), types);
+  }
+
+  public int calculateCreationCost(BuildingCatalog catalog, List<String> types) {
+    int creationCost = 0;
+    for (String type : types) {
+      creationCost += catalog.getCost(BuildingTypeENUM.valueOf(type.toUpperCase()), 1);
+    }
+    return creationCost;
+  }
+
+  public int findUpgradeCost(BuildingTypeENUM type, int level) {
+    return buildingCatalogService.getCatalog().getCost(type, level);
+  }
+
+  public int findUpgradeCost(BuildingCatalog catalog, BuildingTypeENUM type, int level) {
+    return catalog.getCost(type, level);
+  }
+
+  public int findMaxLevel(BuildingTypeENUM type) {
+    return buildingCatalogService.getCatalog().getMaxLevel(type);
+  }
+
   public ArrayList<Building> findAllBuildings() {
     return buildingRepository.findAll();
   }
@@ -72,6 +139,11 @@ public class BuildingService {
   }
 
   public Building findBuildingByKingdomAndBuildingId(Long kingdomId, Long buildingId) {
+    if (buildingId != null && buildingId < 0) {
+      BuildingTypeENUM starterType = starterKingdomService.getTemplate().findBuildingType(buildingId);
+      if (starterType == null) return null;
+      return buildingRepository.findFirstByKingdom_IdAndTypeOrderByIdAsc(kingdomId, starterType).orElse(null);
+    }
     return buildingRepository.findBuildingByKingdom_IdAndId(kingdomId, buildingId).orElse(null);
   }
 
@@ -83,65 +155,102 @@ public class BuildingService {
     return mineRepository.findMinesByKingdom_Id(kingdomId);
   }
 
-  public int calculateFoodGenerationRate(Long kingdomId) {
-    int foodProductionRate = 0;
-    ArrayList<Farm> farms = findFarmsByKingdom(kingdomId);
+  public Building createBuilding(Kingdom kingdom, String type) {
+    return createBuilding(buildingCatalogService.getCatalog(), kingdom, type);
+  }
 
-    for (Farm farm : farms) {
-      int farmProductionRate = farm.getProductionRate();
-      if (LocalDateTime.now().isBefore(farm.getFinishedAt())) {
-        farmProductionRate -= ProductionBuilding.PROD_RATE_PER_LEVEL;
-      }
-      foodProductionRate += farmProductionRate;
+  public Building createBuilding(BuildingCatalog catalog, Kingdom kingdom, String type) {
+    Building building = instantiateBuilding(catalog, kingdom, type, LocalDateTime.now());
+    if (building == null) return null;
+
+    building = buildingRepository.save(building);
+    kingdomSnapshotService.invalidate(kingdom.getId());
+    if (building instanceof ProductionBuilding) {
+      int productionRate = ((ProductionBuilding) building).getProductionRate();
+      rateService.addProductionRate(kingdom, building.getType(), productionRate, building.getFinishedAt());
     }
-    return foodProductionRate;
+    completionService.scheduleBuildingCompletion(building);
+
+    return building;
   }
 
-  public int calculateGoldGenerationRate(Long kingdomId) {
-    int goldProductionRate = 0;
-    ArrayList<Mine> mines = findMinesByKingdom(kingdomId);
+  @Transactional
+  public ArrayList<Building> createBuildings(Kingdom kingdom, List<String> types) {
+    return createBuildings(buildingCatalogService.getCatalog(), kingdom, types);
+  }
 
-    for (Mine mine : mines) {
-      int mineProductionRate = mine.getProductionRate();
-      if (LocalDateTime.now().isBefore(mine.getFinishedAt())) {
-        mineProductionRate -= ProductionBuilding.PROD_RATE_PER_LEVEL;
+  @Transactional
+  public ArrayList<Building> createBuildings(BuildingCatalog catalog, Kingdom kingdom, List<String> types) {
+    LocalDateTime startedAt = LocalDateTime.now();
+    ArrayList<Building> buildings = new ArrayList<>();
+    for (String type : types) {
+      buildings.add(instantiateBuilding(catalog, kingdom, type, startedAt));
+    }
+
+    ArrayList<Building> savedBuildings = new ArrayList<>();
+    Map<BuildingTypeENUM, Integer> productionRates = new EnumMap<>(BuildingTypeENUM.class);
+    Map<BuildingTypeENUM, LocalDateTime> finishTimes = new EnumMap<>(BuildingTypeENUM.class);
+    for (Building building : buildingRepository.saveAll(buildings)) {
+      savedBuildings.add(building);
+      if (building instanceof ProductionBuilding) {
+        productionRates.merge(building.getType(), ((ProductionBuilding) building).getProductionRate(), Integer::sum);
+        finishTimes.put(building.getType(), building.getFinishedAt());
       }
-      goldProductionRate += mineProductionRate;
     }
-    return goldProductionRate;
+
+    kingdomSnapshotService.invalidate(kingdom.getId());
+
+    for (Map.Entry<BuildingTypeENUM, Integer> productionRate : productionRates.entrySet()) {
+      rateService.addProductionRate(kingdom, productionRate.getKey(), productionRate.getValue(),
+          finishTimes.get(productionRate.getKey()));
+    }
+    for (Building building : savedBuildings) {
+      completionService.scheduleBuildingCompletion(building);
+    }
+
+    return savedBuildings;
   }
 
-  public Building createBuilding(Kingdom kingdom, String type) {
-    Building building;
+  private Building instantiateFinishedBuilding(Kingdom kingdom, BuildingTypeENUM type, LocalDateTime finishedAt) {
+    BuildingCatalog catalog = buildingCatalogService.getCatalog();
+    LocalDateTime startedAt = finishedAt.minusSeconds(catalog.getDurationSeconds(type, 1));
+    Building building = type.equals(BuildingTypeENUM.TOWNHALL)
+        ? new Townhall(kingdom, startedAt) : instantiateBuilding(catalog, kingdom, type.name(), startedAt);
+    applyLevel(catalog, building, 1, startedAt);
+    building.setState(BuildingStateENUM.IDLE);
+    return building;
+  }
 
+  private Building instantiateBuilding(BuildingCatalog catalog, Kingdom kingdom, String type, LocalDateTime startedAt) {
+    Building building;
     if (type.equalsIgnoreCase(BuildingTypeENUM.FARM.toString())) {
-      building = buildingRepository.save(new Farm(kingdom));
+      building = new Farm(kingdom, startedAt);
     } else if (type.equalsIgnoreCase(BuildingTypeENUM.MINE.toString())) {
-      building = buildingRepository.save(new Mine(kingdom));
+      building = new Mine(kingdom, startedAt);
     } else if (type.equalsIgnoreCase(BuildingTypeENUM.BARRACK.toString())) {
-      building = buildingRepository.save(new Barrack(kingdom));
+      building = new Barrack(kingdom, startedAt);
     } else {
-      building = null;
+      return null;
     }
 
-    Resource goldResource = resourceRepository.findResourceByTownhall_Kingdom_IdAndType(kingdom.getId(), ResourceTypeENUM.GOLD).get();
-    int newGoldAmount = goldResource.getAmount() - Building.CREATION_COST;
-    goldResource.setAmount(newGoldAmount);
-    goldResource.setUpdateTime(LocalDateTime.now());
-    resourceRepository.save(goldResource);
-
+    applyLevel(catalog, building, 1, startedAt);
+    building.setState(building.getFinishedAt().isAfter(LocalDateTime.now())
+        ? BuildingStateENUM.CONSTRUCTING : BuildingStateENUM.IDLE);
     return building;
   }
 
-  public boolean isValidLevel(Integer upgradeLevelAsked, Integer currentLevel, Long kingdomId, BuildingTypeENUM type) {
+  public boolean isValidNewBuildingType(String type) {
+    return type != null && !type.equalsIgnoreCase(BuildingTypeENUM.TOWNHALL.toString()) && isValidBuildingType(type);
+  }
 
-    if (upgradeLevelAsked == null || upgradeLevelAsked < 1 || upgradeLevelAsked > 3) return false;
-    if (upgradeLevelAsked == currentLevel) return false;
+  public boolean isValidLevel(Integer upgradeLevelAsked, int currentLevel, Long kingdomId, BuildingTypeENUM type) {
 
-    Integer townhallLevel = townhallRepository.findTownhallsByKingdom_Id(kingdomId).get(0).getLevel();
+    if (upgradeLevelAsked == null || upgradeLevelAsked < 1 || upgradeLevelAsked > findMaxLevel(type)) return false;
+    if (upgradeLevelAsked == currentLevel) return false;
 
     if (!type.equals(BuildingTypeENUM.TOWNHALL)) {
-      if (upgradeLevelAsked > townhallLevel) return false;
+      KingdomSnapshot snapshot = kingdomSnapshotService.findSnapshot(kingdomId);
+      if (snapshot == null || upgradeLevelAsked > snapshot.getTownhallLevel()) return false;
     }
 
     if (upgradeLevelAsked - currentLevel > 1) return false;
@@ -150,40 +259,145 @@ public class BuildingService {
   }
 
   public Building upgradeBuilding(Long kingdomId, Long buildingId, Integer upgradeLevel) {
+    return upgradeBuilding(buildingCatalogService.getCatalog(), kingdomId, buildingId, upgradeLevel);
+  }
+
+  public Building upgradeBuilding(BuildingCatalog catalog, Long kingdomId, Long buildingId, Integer upgradeLevel) {
     Building buildingToUpgrade = findBuildingByKingdomAndBuildingId(kingdomId, buildingId);
+    if (buildingToUpgrade == null) return null;
+
+    BuildingTypeENUM type = buildingToUpgrade.getType();
+    LocalDateTime startedAt = LocalDateTime.now();
+    int upgradedBuildings = buildingRepository.upgradeBuilding(buildingToUpgrade.getId(), upgradeLevel,
+        findNextUpgradeCost(catalog, type, upgradeLevel), startedAt,
+        startedAt.plusSeconds(catalog.getDurationSeconds(type, upgradeLevel)));
+    if (upgradedBuildings == 0) return null;
+
+    Building upgradedBuilding = buildingRepository.findById(buildingToUpgrade.getId()).get();
+    completionService.scheduleBuildingCompletion(upgradedBuilding);
+    return upgradedBuilding;
+  }
 
-    Resource goldResource = resourceRepository.findResourceByTownhall_Kingdom_IdAndType(kingdomId, ResourceTypeENUM.GOLD).get();
-    int newGoldAmount = goldResource.getAmount() - buildingToUpgrade.getUpgradeCost();
-    goldResource.setAmount(newGoldAmount);
-    goldResource.setUpdateTime(LocalDateTime.now());
-    resourceRepository.save(goldResource);
+  public Townhall upgradeTownhall(Long kingdomId, Long buildingId, Integer upgradeLevel) {
+    return upgradeTownhall(buildingCatalogService.getCatalog(), kingdomId, buildingId, upgradeLevel);
+  }
 
-    buildingToUpgrade.setLevel(upgradeLevel);
-    buildingToUpgrade.setUpgradeCost(Building.UPGRADE_COST_PER_LEVEL * buildingToUpgrade.getLevel());
-    buildingToUpgrade.setStartedAt(LocalDateTime.now());
-    buildingToUpgrade.setFinishedAt(LocalDateTime.now().plusMinutes(Building.UPGRADE_TIME));
-    buildingRepository.save(buildingToUpgrade);
+  public Townhall upgradeTownhall(BuildingCatalog catalog, Long kingdomId, Long buildingId, Integer upgradeLevel) {
+    Building townhallToUpgrade = findBuildingByKingdomAndBuildingId(kingdomId, buildingId);
+    if (townhallToUpgrade == null) return null;
 
-    return buildingToUpgrade;
-  }
+    LocalDateTime startedAt = LocalDateTime.now();
+    int upgradedTownhalls = townhallRepository.upgradeTownhall(townhallToUpgrade.getId(), upgradeLevel,
+        findNextUpgradeCost(catalog, BuildingTypeENUM.TOWNHALL, upgradeLevel), startedAt,
+        startedAt.plusSeconds(catalog.getDurationSeconds(BuildingTypeENUM.TOWNHALL, upgradeLevel)),
+        catalog.getCapacity(BuildingTypeENUM.TOWNHALL, ResourceTypeENUM.FOOD, upgradeLevel),
+        catalog.getCapacity(BuildingTypeENUM.TOWNHALL, ResourceTypeENUM.GOLD, upgradeLevel));
+    if (upgradedTownhalls == 0) return null;
 
-  public Townhall upgradeTownhall(Long kingdomId, Long buildingId, Integer upgradeLevel) {
-    upgradeBuilding(kingdomId, buildingId, upgradeLevel);
+    Townhall upgradedTownhall = townhallRepository.findById(townhallToUpgrade.getId()).get();
+    kingdomSnapshotService.invalidate(kingdomId);
 
-    Townhall townhallToUpgrade = townhallRepository.findById(buildingId).get();
-    townhallToUpgrade.setFoodCapacity(Townhall.FOOD_CAPACITY_PER_LEVEL * townhallToUpgrade.getLevel());
-    townhallToUpgrade.setGoldCapacity(Townhall.GOLD_CAPACITY_PER_LEVEL * townhallToUpgrade.getLevel());
-    townhallRepository.save(townhallToUpgrade);
-    return townhallToUpgrade;
+    rateService.publishProductionChange(kingdomId);
+    completionService.scheduleBuildingCompletion(upgradedTownhall);
+    return upgradedTownhall;
   }
 
   public ProductionBuilding upgradeProductionBuilding(Long kingdomId, Long buildingId, Integer upgradeLevel) {
-    upgradeBuilding(kingdomId, buildingId, upgradeLevel);
+    return upgradeProductionBuilding(buildingCatalogService.getCatalog(), kingdomId, buildingId, upgradeLevel);
+  }
 
-    ProductionBuilding prodBuildingToUpgrade = productionBuildingRepository.findById(buildingId).get();
-    prodBuildingToUpgrade.setProductionRate(ProductionBuilding.PROD_RATE_PER_LEVEL * prodBuildingToUpgrade.getLevel());
-    productionBuildingRepository.save(prodBuildingToUpgrade);
-    return prodBuildingToUpgrade;
+  public ProductionBuilding upgradeProductionBuilding(BuildingCatalog catalog, Long kingdomId, Long buildingId,
+                                                      Integer upgradeLevel) {
+    Building prodBuildingToUpgrade = findBuildingByKingdomAndBuildingId(kingdomId, buildingId);
+    if (!(prodBuildingToUpgrade instanceof ProductionBuilding)) return null;
+
+    BuildingTypeENUM type = prodBuildingToUpgrade.getType();
+    int previousProductionRate = ((ProductionBuilding) prodBuildingToUpgrade).getProductionRate();
+    LocalDateTime startedAt = LocalDateTime.now();
+    int upgradedBuildings = productionBuildingRepository.upgradeProductionBuilding(prodBuildingToUpgrade.getId(),
+        upgradeLevel, findNextUpgradeCost(catalog, type, upgradeLevel), startedAt,
+        startedAt.plusSeconds(catalog.getDurationSeconds(type, upgradeLevel)), catalog.getProductionRate(type, upgradeLevel));
+    if (upgradedBuildings == 0) return null;
+
+    ProductionBuilding upgradedProdBuilding = productionBuildingRepository.findById(prodBuildingToUpgrade.getId()).get();
+    int rateDelta = upgradedProdBuilding.getProductionRate() - previousProductionRate;
+    rateService.addProductionRate(upgradedProdBuilding.getKingdom(), upgradedProdBuilding.getType(),
+        rateDelta, upgradedProdBuilding.getFinishedAt());
+    completionService.scheduleBuildingCompletion(upgradedProdBuilding);
+    return upgradedProdBuilding;
+  }
+
+  private int findNextUpgradeCost(BuildingCatalog catalog, BuildingTypeENUM type, int level) {
+    return catalog.hasLevel(type, level + 1) ? catalog.getCost(type, level + 1) : 0;
+  }
+
+  public ArrayList<Long> findUpgradableBuildingIds(Long kingdomId, BuildingTypeENUM type, int level) {
+    return buildingRepository.findUpgradableBuildingIds(kingdomId, type, level,
+        PageRequest.of(0, Building.MAX_BULK_UPGRADE_SIZE));
+  }
+
+  public ArrayList<Long> lockUpgradableBuildingIds(List<Long> buildingIds, int level) {
+    ArrayList<Long> upgradableBuildingIds = new ArrayList<>();
+    for (Building building : buildingRepository.lockUpgradableBuildings(buildingIds, level)) {
+      upgradableBuildingIds.add(building.getId());
+    }
+    return upgradableBuildingIds;
+  }
+
+  @Transactional
+  public BuildingUpgradeSummaryDTO upgradeBuildings(BuildingCatalog catalog, Kingdom kingdom, BuildingTypeENUM type,
+                                                    int level, List<Long> buildingIds, int upgradeCost) {
+    LocalDateTime startedAt = LocalDateTime.now();
+    LocalDateTime finishedAt = startedAt.plusSeconds(catalog.getDurationSeconds(type, level));
+    int nextUpgradeCost = findNextUpgradeCost(catalog, type, level);
+
+    int upgradedBuildings;
+    if (type.equals(BuildingTypeENUM.FARM) || type.equals(BuildingTypeENUM.MINE)) {
+      upgradedBuildings = productionBuildingRepository.upgradeProductionBuildings(buildingIds, level, nextUpgradeCost,
+          startedAt, finishedAt, catalog.getProductionRate(type, level));
+    } else {
+      upgradedBuildings = buildingRepository.upgradeBuildings(buildingIds, level, nextUpgradeCost, startedAt, finishedAt);
+    }
+
+    if (upgradedBuildings > 0) {
+      int rateDelta = catalog.getProductionRate(type, level) - catalog.getProductionRate(type, level - 1);
+      if (rateDelta != 0) {
+        rateService.addProductionRate(kingdom, type, rateDelta * upgradedBuildings, finishedAt);
+      }
+      completionService.scheduleBuildingCompletions(buildingIds, kingdom.getId(), finishedAt);
+    }
+    return new BuildingUpgradeSummaryDTO(type, level, upgradedBuildings, upgradeCost * upgradedBuildings,
+        Timestamp.valueOf(finishedAt));
+  }
+
+  @EventListener
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onCompletion(CompletionEvent completion) {
+    if (completion.getType() != CompletionTypeENUM.BUILDING) return;
+    buildingRepository.completeBuilding(completion.getId(), LocalDateTime.now());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void completeFinishedBuildings() {
+    int completedBuildings = buildingRepository.completeFinishedBuildings(LocalDateTime.now());
+    logger.info("Completed {} buildings that finished while offline", completedBuildings);
+  }
+
+  private void applyLevel(BuildingCatalog catalog, Building building, int level, LocalDateTime startedAt) {
+    BuildingTypeENUM type = building.getType();
+    building.setLevel(level);
+    building.setUpgradeCost(findNextUpgradeCost(catalog, type, level));
+    building.setStartedAt(startedAt);
+    building.setFinishedAt(startedAt.plusSeconds(catalog.getDurationSeconds(type, level)));
+
+    if (building instanceof ProductionBuilding) {
+      ((ProductionBuilding) building).setProductionRate(catalog.getProductionRate(type, level));
+    }
+    if (building instanceof Townhall) {
+      ((Townhall) building).setFoodCapacity(catalog.getCapacity(type, ResourceTypeENUM.FOOD, level));
+      ((Townhall) building).setGoldCapacity(catalog.getCapacity(type, ResourceTypeENUM.GOLD, level));
+    }
   }
 
   public BuildingDTO createBuildingDTO(Building building) {
@@ -193,7 +407,7 @@ public class BuildingService {
     buildingDTO.setType(building.getType());
 
     int buildingLevel = building.getLevel();
-    if (LocalDateTime.now().isBefore(building.getFinishedAt())) {
+    if (building.getState() != BuildingStateENUM.IDLE) {
       buildingLevel -= 1;
     }
     buildingDTO.setLevel(buildingLevel);
@@ -205,15 +419,24 @@ public class BuildingService {
     return buildingDTO;
   }
 
+  @Transactional(readOnly = true)
   public BuildingsDTO createBuildingsDTO(String username) {
-    List<BuildingDTO> buildingDTOList = new ArrayList<>();
-    Kingdom kingdom = kingdomRepository.findKingdomByUser_Username(username).get();
-    ArrayList<Building> buildingList = findBuildingsByKingdom(kingdom.getId());
+    ArrayList<BuildingDTO> buildingDTOs = buildingRepository.findBuildingDTOsByUsername(username);
+    if (buildingDTOs.isEmpty()) {
+      Kingdom virtualKingdom = starterKingdomService.findVirtualKingdomByUsername(username);
+      if (virtualKingdom != null) return createStarterBuildingsDTO(virtualKingdom.getFoundedAt());
+    }
+    return new BuildingsDTO(buildingDTOs);
+  }
 
-    for (Building building : buildingList) {
-      buildingDTOList.add(createBuildingDTO(building));
+  private BuildingsDTO createStarterBuildingsDTO(LocalDateTime foundedAt) {
+    StarterKingdomTemplate template = starterKingdomService.getTemplate();
+    ArrayList<BuildingDTO> buildingDTOs = new ArrayList<>();
+    for (BuildingTypeENUM type : template.getBuildingTypes()) {
+      buildingDTOs.add(new BuildingDTO(template.findVirtualBuildingId(type), type, 1,
+          template.findStartedAt(type, foundedAt), foundedAt));
     }
-    return new BuildingsDTO(buildingDTOList);
+    return new BuildingsDTO(buildingDTOs);
   }
 
 }
@@ -0,0 +1,140 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TimingWheel;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.TrainingOrder;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BuildingRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.SoldierRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TrainingOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class CompletionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompletionService.class);
+
+  private TimingWheel<CompletionEvent> timingWheel;
+  private Map<CompletionTypeENUM, Map<Long, TimingWheel.Timer<CompletionEvent>>> timers = new EnumMap<>(CompletionTypeENUM.class);
+  private BuildingRepository buildingRepository;
+  private SoldierRepository soldierRepository;
+  private TrainingOrderRepository trainingOrderRepository;
+  private ApplicationEventPublisher eventPublisher;
+  private ExecutorService completionWorkers;
+
+  @Autowired
+  public CompletionService(@Value("${completions.tick-millis:100}") long tickMillis,
+                           @Value("${completions.wheel-size:512}") int wheelSize,
+                           @Value("${completions.workers:4}") int workers,
+                           BuildingRepository buildingRepository, SoldierRepository soldierRepository,
+                           TrainingOrderRepository trainingOrderRepository, ApplicationEventPublisher eventPublisher) {
+    this.timingWheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    for (CompletionTypeENUM type : CompletionTypeENUM.values()) {
+      timers.put(type, new ConcurrentHashMap<>());
+    }
+    this.buildingRepository = buildingRepository;
+    this.soldierRepository = soldierRepository;
+    this.trainingOrderRepository = trainingOrderRepository;
+    this.eventPublisher = eventPublisher;
+    this.completionWorkers = Executors.newFixedThreadPool(workers);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void schedulePendingCompletions() {
+    LocalDateTime now = LocalDateTime.now();
+    int pendingCompletions = 0;
+    for (CompletionEvent completion : buildingRepository.findPendingCompletions(now)) {
+      schedule(completion);
+      pendingCompletions++;
+    }
+    for (CompletionEvent completion : soldierRepository.findPendingCompletions(now)) {
+      schedule(completion);
+      pendingCompletions++;
+    }
+    for (CompletionEvent completion : trainingOrderRepository.findPendingCompletions(now)) {
+      schedule(completion);
+      pendingCompletions++;
+    }
+    logger.info("Scheduled {} pending completions", pendingCompletions);
+  }
+
+  public void scheduleBuildingCompletion(Building building) {
+    schedule(new CompletionEvent(CompletionTypeENUM.BUILDING, building.getId(), building.getKingdom().getId(),
+        building.getFinishedAt()));
+  }
+
+  public void scheduleBuildingCompletions(Collection<Long> buildingIds, Long kingdomId, LocalDateTime finishedAt) {
+    for (Long buildingId : buildingIds) {
+      schedule(new CompletionEvent(CompletionTypeENUM.BUILDING, buildingId, kingdomId, finishedAt));
+    }
+  }
+
+  public void scheduleSoldierCompletion(Soldier soldier) {
+    schedule(new CompletionEvent(CompletionTypeENUM.SOLDIER, soldier.getId(), soldier.getKingdom().getId(),
+        soldier.getFinishedAt()));
+  }
+
+  public void scheduleTrainingCompletion(TrainingOrder order) {
+    schedule(new CompletionEvent(CompletionTypeENUM.TRAINING, order.getId(), order.getKingdom().getId(),
+        order.getFinishedAt()));
+  }
+
+  public boolean cancelCompletion(CompletionTypeENUM type, Long id) {
+    TimingWheel.Timer<CompletionEvent> timer = timers.get(type).remove(id);
+    return timer != null && timingWheel.cancel(timer);
+  }
+
+  public int countPendingCompletions() {
+    return timingWheel.size();
+  }
+
+  @Scheduled(fixedRateString = "${completions.tick-millis:100}")
+  public void advance() {
+    for (CompletionEvent completion : timingWheel.advanceClock(System.currentTimeMillis())) {
+      timers.get(completion.getType()).computeIfPresent(completion.getId(),
+          (id, timer) -> timer.getPayload() == completion ? null : timer);
+      completionWorkers.execute(() -> publish(completion));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    completionWorkers.shutdown();
+  }
+
+  private void publish(CompletionEvent completion) {
+    try {
+      eventPublisher.publishEvent(completion);
+    } catch (RuntimeException e) {
+      logger.error("Completion handler failed for {} {}", completion.getType(), completion.getId(), e);
+    }
+  }
+
+  private void schedule(CompletionEvent completion) {
+    long expirationMillis = completion.getFinishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    TimingWheel.Timer<CompletionEvent> timer = timingWheel.schedule(completion, expirationMillis);
+    TimingWheel.Timer<CompletionEvent> previousTimer = timers.get(completion.getType()).put(completion.getId(), timer);
+    if (previousTimer != null) timingWheel.cancel(previousTimer);
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.repositories.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Service
+public class KingdomDeletionService {
+
+  private KingdomRepository kingdomRepository;
+  private UserRepository userRepository;
+  private BuildingRepository buildingRepository;
+  private SoldierRepository soldierRepository;
+  private ResourceRepository resourceRepository;
+  private RateChangeRepository rateChangeRepository;
+  private BuildQueueEntryRepository buildQueueEntryRepository;
+  private TrainingOrderRepository trainingOrderRepository;
+  private ResourceTransactionRepository resourceTransactionRepository;
+  private ResourceSnapshotRepository resourceSnapshotRepository;
+
+  @Autowired
+  public KingdomDeletionService(KingdomRepository kingdomRepository, UserRepository userRepository,
+                                BuildingRepository buildingRepository, SoldierRepository soldierRepository,
+                                ResourceRepository resourceRepository, RateChangeRepository rateChangeRepository,
+                                BuildQueueEntryRepository buildQueueEntryRepository,
+                                TrainingOrderRepository trainingOrderRepository,
+                                ResourceTransactionRepository resourceTransactionRepository,
+                                ResourceSnapshotRepository resourceSnapshotRepository) {
+    this.kingdomRepository = kingdomRepository;
+    this.userRepository = userRepository;
+    this.buildingRepository = buildingRepository;
+    this.soldierRepository = soldierRepository;
+    this.resourceRepository = resourceRepository;
+    this.rateChangeRepository = rateChangeRepository;
+    this.buildQueueEntryRepository = buildQueueEntryRepository;
+    this.trainingOrderRepository = trainingOrderRepository;
+    this.resourceTransactionRepository = resourceTransactionRepository;
+    this.resourceSnapshotRepository = resourceSnapshotRepository;
+  }
+
+  @Transactional
+  public int deleteKingdoms(Collection<Long> kingdomIds) {
+    if (kingdomIds.isEmpty()) return 0;
+
+    ArrayList<Long> userIds = kingdomRepository.findUserIds(kingdomIds);
+    buildQueueEntryRepository.deleteByKingdomIds(kingdomIds);
+    trainingOrderRepository.deleteByKingdomIds(kingdomIds);
+    rateChangeRepository.deleteByKingdomIds(kingdomIds);
+    resourceTransactionRepository.deleteByKingdomIds(kingdomIds);
+    resourceSnapshotRepository.deleteByKingdomIds(kingdomIds);
+    soldierRepository.deleteByKingdomIds(kingdomIds);
+    resourceRepository.deleteByKingdomIds(kingdomIds);
+    buildingRepository.deleteByKingdomIds(kingdomIds);
+    int deletedKingdoms = kingdomRepository.deleteByKingdomIds(kingdomIds);
+    if (!userIds.isEmpty()) {
+      userRepository.deleteByIds(userIds);
+    }
+    return deletedKingdoms;
+  }
+
+}
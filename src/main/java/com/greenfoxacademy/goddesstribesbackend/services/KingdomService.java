@@ -1,5 +1,8 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomRates;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.AuthenticationResponseDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.KingdomDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.LocationDTO;
@@ -11,6 +14,9 @@ import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
 import com.greenfoxacademy.goddesstribesbackend.security.jwt.JWTUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 public class KingdomService {
@@ -21,17 +27,20 @@ public class KingdomService {
   private ResourceService resourceService;
   private SoldierService soldierService;
   private ProductionService productionService;
+  private StarterKingdomService starterKingdomService;
 
   @Autowired
   public KingdomService(KingdomRepository kingdomRepository, UserService userService,
                         BuildingService buildingService, ResourceService resourceService,
-                        SoldierService soldierService, ProductionService productionService) {
+                        SoldierService soldierService, ProductionService productionService,
+                        StarterKingdomService starterKingdomService) {
     this.kingdomRepository = kingdomRepository;
     this.userService = userService;
     this.buildingService = buildingService;
     this.resourceService = resourceService;
     this.soldierService = soldierService;
     this.productionService = productionService;
+    this.starterKingdomService = starterKingdomService;
   }
 
   public Kingdom findKingdomById(Long kingdomId) {
@@ -54,20 +63,29 @@ public class KingdomService {
     return null;
   }
 
-  public void initKingdom(String username) {
-    if (username != null && userService.checkUserByName(username)) {
-      Kingdom kingdom = kingdomRepository.findKingdomByUser_Username(username).get();
-
-      if (!kingdom.isActive()) {
-        Townhall townhall = buildingService.saveTownhall(kingdom);
-        resourceService.saveFoodAtStart(townhall);
-        resourceService.saveGoldAtStart(townhall);
-        buildingService.saveFarmAtStart(kingdom);
-        buildingService.saveMineAtStart(kingdom);
-        kingdom.setActive(true);
-        kingdomRepository.save(kingdom);
-      }
+  @Transactional
+  public void materializeKingdom(Kingdom kingdom) {
+    if (kingdom == null || kingdom.isActive()) return;
+    if (kingdomRepository.activateKingdom(kingdom.getId()) == 0) return;
+
+    StarterKingdomTemplate template = starterKingdomService.getTemplate();
+    LocalDateTime foundedAt = kingdom.getFoundedAt();
+    LocalDateTime now = LocalDateTime.now();
+    Townhall townhall = buildingService.saveTownhall(kingdom, foundedAt);
+    for (ResourceTypeENUM type : template.getResourceTypes()) {
+      resourceService.saveResourceAtStart(townhall, type, template.amountAt(type, foundedAt, now));
     }
+    buildingService.saveFarmAtStart(kingdom, foundedAt);
+    buildingService.saveMineAtStart(kingdom, foundedAt);
+    refreshMaterializedState(kingdom);
+  }
+
+  private void refreshMaterializedState(Kingdom kingdom) {
+    KingdomRates rates = kingdomRepository.findKingdomRates(kingdom.getId()).get();
+    kingdom.setFoodProductionRate(rates.getFoodProductionRate());
+    kingdom.setGoldProductionRate(rates.getGoldProductionRate());
+    kingdom.setFoodUpkeepRate(rates.getFoodUpkeepRate());
+    kingdom.setActive(true);
   }
 
   public AuthenticationResponseDTO createAuthenticationResponseDTO(TokenDTO tokenDTO) {
@@ -0,0 +1,101 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomSnapshot;
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomsDeletedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.ProductionChangedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TownhallRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class KingdomSnapshotService {
+
+  private static final int GENERATION_STRIPES = 64;
+
+  private TownhallRepository townhallRepository;
+  private Map<Long, KingdomSnapshot> snapshots;
+  private long[] generations = new long[GENERATION_STRIPES];
+
+  @Autowired
+  public KingdomSnapshotService(@Value("${kingdoms.snapshot-cache.max-size:10000}") int maxSize,
+                                TownhallRepository townhallRepository) {
+    this.townhallRepository = townhallRepository;
+    this.snapshots = new LinkedHashMap<Long, KingdomSnapshot>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, KingdomSnapshot> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  public KingdomSnapshot findSnapshot(Long kingdomId) {
+    long generation;
+    synchronized (this) {
+      KingdomSnapshot snapshot = snapshots.get(kingdomId);
+      if (snapshot != null) return snapshot;
+      generation = generations[stripe(kingdomId)];
+    }
+
+    KingdomSnapshot snapshot = loadSnapshot(kingdomId);
+    synchronized (this) {
+      if (snapshot != null && generations[stripe(kingdomId)] == generation) {
+        snapshots.put(kingdomId, snapshot);
+      }
+    }
+    return snapshot;
+  }
+
+  public void invalidate(Long kingdomId) {
+    evict(kingdomId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCompletion(int status) {
+          evict(kingdomId);
+        }
+      });
+    }
+  }
+
+  @EventListener
+  public void onProductionChanged(ProductionChangedEvent event) {
+    invalidate(event.getKingdomId());
+  }
+
+  @EventListener
+  public void onKingdomsDeleted(KingdomsDeletedEvent event) {
+    for (Long kingdomId : event.getKingdomIds()) {
+      evict(kingdomId);
+    }
+  }
+
+  public synchronized int size() {
+    return snapshots.size();
+  }
+
+  private KingdomSnapshot loadSnapshot(Long kingdomId) {
+    ArrayList<Townhall> townhalls = townhallRepository.findTownhallsByKingdom_Id(kingdomId);
+    if (townhalls.isEmpty()) return null;
+
+    return new KingdomSnapshot(townhalls.get(0));
+  }
+
+  private synchronized void evict(Long kingdomId) {
+    snapshots.remove(kingdomId);
+    generations[stripe(kingdomId)]++;
+  }
+
+  private int stripe(Long kingdomId) {
+    return (int) Math.floorMod(kingdomId, (long) GENERATION_STRIPES);
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomsDeletedEvent;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+@Service
+public class KingdomTeardownService {
+
+  private static final Logger logger = LoggerFactory.getLogger(KingdomTeardownService.class);
+
+  private boolean purgeEnabled;
+  private int chunkSize;
+  private long abandonedAfterDays;
+  private KingdomRepository kingdomRepository;
+  private KingdomDeletionService kingdomDeletionService;
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public KingdomTeardownService(@Value("${kingdoms.purge.enabled:false}") boolean purgeEnabled,
+                                @Value("${kingdoms.purge.chunk-size:500}") int chunkSize,
+                                @Value("${kingdoms.purge.abandoned-after-days:90}") long abandonedAfterDays,
+                                KingdomRepository kingdomRepository, KingdomDeletionService kingdomDeletionService,
+                                ApplicationEventPublisher eventPublisher) {
+    this.purgeEnabled = purgeEnabled;
+    this.chunkSize = chunkSize;
+    this.abandonedAfterDays = abandonedAfterDays;
+    this.kingdomRepository = kingdomRepository;
+    this.kingdomDeletionService = kingdomDeletionService;
+    this.eventPublisher = eventPublisher;
+  }
+
+  public boolean deleteKingdom(Long kingdomId) {
+    return deleteKingdoms(Collections.singletonList(kingdomId)) > 0;
+  }
+
+  @Scheduled(fixedDelayString = "${kingdoms.purge.interval-millis:3600000}")
+  public void scheduledPurge() {
+    if (!purgeEnabled) return;
+    purgeAbandonedKingdoms(LocalDateTime.now().minusDays(abandonedAfterDays));
+  }
+
+  public int purgeAbandonedKingdoms(LocalDateTime lastLoginBefore) {
+    long startedAt = System.currentTimeMillis();
+    int deletedKingdoms = 0;
+    int chunks = 0;
+    ArrayList<Long> kingdomIds;
+    while (!(kingdomIds = kingdomRepository.findAbandonedKingdomIds(lastLoginBefore, PageRequest.of(0, chunkSize))).isEmpty()) {
+      int deletedInChunk = deleteKingdoms(kingdomIds);
+      chunks++;
+      deletedKingdoms += deletedInChunk;
+      if (deletedInChunk == 0) break;
+    }
+
+    logger.info("Purged {} abandoned kingdoms in {} chunks in {} ms", deletedKingdoms, chunks,
+        System.currentTimeMillis() - startedAt);
+    return deletedKingdoms;
+  }
+
+  private int deleteKingdoms(Collection<Long> kingdomIds) {
+    int deletedKingdoms = kingdomDeletionService.deleteKingdoms(kingdomIds);
+    eventPublisher.publishEvent(new KingdomsDeletedEvent(kingdomIds));
+    return deletedKingdoms;
+  }
+
+}
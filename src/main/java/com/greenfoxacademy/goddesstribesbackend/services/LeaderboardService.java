@@ -1,5 +1,6 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.LeaderboardBuildingsDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.LeaderboardBySoldiersDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.LeaderboardByBuildingsDTO;
@@ -7,7 +8,6 @@ import com.greenfoxacademy.goddesstribesbackend.models.dtos.LeaderboardSoldiersD
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.repositories.BuildingRepository;
 import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
-import com.greenfoxacademy.goddesstribesbackend.repositories.SoldierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,13 +19,11 @@ public class LeaderboardService {
 
   private BuildingRepository buildingRepository;
   private KingdomRepository kingdomRepository;
-  private SoldierRepository soldierRepository;
 
   @Autowired
-  public LeaderboardService(BuildingRepository buildingRepository, KingdomRepository kingdomRepository, SoldierRepository soldierRepository) {
+  public LeaderboardService(BuildingRepository buildingRepository, KingdomRepository kingdomRepository) {
     this.buildingRepository = buildingRepository;
     this.kingdomRepository = kingdomRepository;
-    this.soldierRepository = soldierRepository;
   }
 
   public LeaderboardByBuildingsDTO createLeaderboardByBuildings() {
@@ -35,7 +33,8 @@ public class LeaderboardService {
     for (Kingdom kingdom : kingdomList) {
       LeaderboardBuildingsDTO leaderboardBuildingsDTO = new LeaderboardBuildingsDTO();
       leaderboardBuildingsDTO.setKingdomName(kingdom.getKingdomName());
-      leaderboardBuildingsDTO.setBuildings(buildingRepository.countBuildingsByKingdom_Id(kingdom.getId()));
+      leaderboardBuildingsDTO.setBuildings(kingdom.isActive()
+          ? buildingRepository.countBuildingsByKingdom_Id(kingdom.getId()) : StarterKingdomTemplate.BUILDING_TYPES.size());
       leaderboardBuildingsDTOList.add(leaderboardBuildingsDTO);
     }
     return new LeaderboardByBuildingsDTO(leaderboardBuildingsDTOList);
@@ -43,13 +42,9 @@ public class LeaderboardService {
 
   public LeaderboardBySoldiersDTO createLeaderboardBySoldiers() {
     List<LeaderboardSoldiersDTO> leaderboardBySoldiersDTOList = new ArrayList<>();
-    ArrayList<Kingdom> kingdomList = kingdomRepository.findAll();
-
-    for (Kingdom kingdom : kingdomList) {
-      LeaderboardSoldiersDTO leaderboardSoldiersDTO = new LeaderboardSoldiersDTO();
-      leaderboardSoldiersDTO.setKingdomName(kingdom.getKingdomName());
-      leaderboardSoldiersDTO.setSoldiers(soldierRepository.countSoldiersByBarrack_Kingdom_Id(kingdom.getId()));
-      leaderboardBySoldiersDTOList.add(leaderboardSoldiersDTO);
+    for (Kingdom kingdom : kingdomRepository.findAllByOrderByArmyPowerDesc()) {
+      leaderboardBySoldiersDTOList.add(
+          new LeaderboardSoldiersDTO(kingdom.getKingdomName(), kingdom.getSoldierCount(), kingdom.getArmyPower()));
     }
     return new LeaderboardBySoldiersDTO(leaderboardBySoldiersDTOList);
   }
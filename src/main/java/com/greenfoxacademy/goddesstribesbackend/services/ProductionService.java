@@ -1,101 +1,282 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingCatalog;
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.RateTimeline;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceVector;
 import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingUpgradeSummaryDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.ResourceDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.ResourcesDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 public class ProductionService {
 
   private BuildingService buildingService;
   private ResourceService resourceService;
-  private SoldierService soldierService;
+  private RateService rateService;
+  private RetryService retryService;
+  private ResourceLedger resourceLedger;
+  private StarterKingdomService starterKingdomService;
 
   @Autowired
-  public ProductionService(BuildingService buildingService, ResourceService resourceService, SoldierService soldierService) {
+  public ProductionService(BuildingService buildingService, ResourceService resourceService,
+                           RateService rateService, RetryService retryService, ResourceLedger resourceLedger,
+                           StarterKingdomService starterKingdomService) {
     this.buildingService = buildingService;
     this.resourceService = resourceService;
-    this.soldierService = soldierService;
+    this.rateService = rateService;
+    this.retryService = retryService;
+    this.resourceLedger = resourceLedger;
+    this.starterKingdomService = starterKingdomService;
   }
 
   public void updateResources(Long kingdomId) {
-    updateResource(kingdomId, ResourceTypeENUM.FOOD);
-    updateResource(kingdomId, ResourceTypeENUM.GOLD);
+    if (resourceLedger.isEnabled()) return;
+    retryService.retryOnConflict(() -> settleResources(kingdomId));
   }
 
-  public void updateResource(Long kingdomId, ResourceTypeENUM type) {
-    Resource resource = resourceService.findResourceByKingdomAndType(kingdomId, type);
-    if (resource != null) {
-      int previousAmount = resource.getAmount();
-      int increment = 0;
-      int maxAmount = Integer.MAX_VALUE;
+  private void settleResources(Long kingdomId) {
+    ResourceVector resourceVector = loadResourceVector(kingdomId);
+    if (resourceVector == null) return;
 
-      if (type.equals(ResourceTypeENUM.FOOD)) {
-        increment = (int) (calculateNetFoodGenerationRate(kingdomId) * calculateDuration(resource) / 60.);
-        maxAmount = resource.getTownhall().getFoodCapacity();
-
-      } else if (type.equals(ResourceTypeENUM.GOLD)) {
-        increment = (int) (buildingService.calculateGoldGenerationRate(kingdomId) * calculateDuration(resource) / 60.);
-        maxAmount = resource.getTownhall().getGoldCapacity();
+    LocalDateTime now = LocalDateTime.now();
+    ArrayList<ResourceTransaction> transactions = new ArrayList<>();
+    for (Resource resource : resourceVector.getResources()) {
+      int amountChange = resourceVector.amountAt(resource.getType(), now) - resource.getAmount();
+      int upkeepChange = resource.getType().equals(ResourceTypeENUM.FOOD) ? calculateUpkeepChange(resource, now) : 0;
+      resource.setAmount(resource.getAmount() + amountChange);
+      resource.setUpdateTime(now);
+      if (amountChange != upkeepChange) {
+        transactions.add(new ResourceTransaction(kingdomId, resource.getType(), TransactionReasonENUM.PRODUCTION,
+            amountChange - upkeepChange));
       }
+      if (upkeepChange != 0) {
+        transactions.add(new ResourceTransaction(kingdomId, resource.getType(), TransactionReasonENUM.UPKEEP,
+            upkeepChange));
+      }
+    }
+    resourceService.saveAll(resourceVector.getResources(), transactions);
+    rateService.deleteRateChangesUntil(kingdomId, now);
+  }
+
+  private int calculateUpkeepChange(Resource food, LocalDateTime now) {
+    RateTimeline upkeepTimeline = rateService.createUpkeepTimeline(food.getTownhall().getKingdom(), food.getUpdateTime());
+    return upkeepTimeline.accrue(ResourceTypeENUM.FOOD, 0, Integer.MAX_VALUE, food.getUpdateTime(), now);
+  }
 
-      int currentAmount = previousAmount + increment;
-      currentAmount = currentAmount <= maxAmount ? currentAmount : maxAmount;
+  public ResourceVector loadResourceVector(Long kingdomId) {
+    ArrayList<Resource> resources = resourceService.findKingdomResources(kingdomId);
+    if (resources.isEmpty()) return null;
 
-      resource.setAmount(currentAmount);
-      resource.setUpdateTime(LocalDateTime.now());
-      resourceService.save(resource);
-    }
+    Kingdom kingdom = resources.get(0).getTownhall().getKingdom();
+    RateTimeline rateTimeline = rateService.createRateTimeline(kingdom, ResourceVector.findEarliestUpdateTime(resources));
+    return new ResourceVector(resources, rateTimeline);
+  }
+
+  public int calculateCurrentAmount(Resource resource, RateTimeline rateTimeline, LocalDateTime now) {
+    return rateTimeline.accrue(resource.getType(), resource.getAmount(),
+        resource.getTownhall().getCapacity(resource.getType()), resource.getUpdateTime(), now);
   }
 
   public int calculateNetFoodGenerationRate(Long kingdomId) {
-    int foodGenerationRate = buildingService.calculateFoodGenerationRate(kingdomId);
-    int foodConsumptionRate = soldierService.calculateFoodConsumptionRate(kingdomId);
-    return foodGenerationRate - foodConsumptionRate;
+    LocalDateTime now = LocalDateTime.now();
+    return rateService.createRateTimeline(kingdomId, now).rateAt(ResourceTypeENUM.FOOD, now);
+  }
+
+  public int calculateCurrentAmount(Long kingdomId, ResourceTypeENUM type) {
+    if (resourceLedger.isEnabled()) {
+      Map<ResourceTypeENUM, Integer> currentAmounts = resourceLedger.findCurrentAmounts(kingdomId);
+      if (!currentAmounts.isEmpty()) return currentAmounts.getOrDefault(type, 0);
+      return calculateStarterAmount(kingdomId, type);
+    }
+
+    ResourceVector resourceVector = loadResourceVector(kingdomId);
+    if (resourceVector == null) return calculateStarterAmount(kingdomId, type);
+    if (resourceVector.getResource(type) == null) return 0;
+    return resourceVector.amountAt(type, LocalDateTime.now());
   }
 
-  private long calculateDuration(Resource resource) {
-    LocalDateTime previousUpdateTime = resource.getUpdateTime();
+  private int calculateStarterAmount(Long kingdomId, ResourceTypeENUM type) {
+    Kingdom virtualKingdom = starterKingdomService.findVirtualKingdom(kingdomId);
+    if (virtualKingdom == null) return 0;
+
+    StarterKingdomTemplate template = starterKingdomService.getTemplate();
+    if (!template.getResourceTypes().contains(type)) return 0;
+    return template.amountAt(type, virtualKingdom.getFoundedAt(), LocalDateTime.now());
+  }
+
+  public LocalDateTime calculateDepletionTime(Long kingdomId, ResourceTypeENUM type) {
+    ArrayList<Resource> resources = resourceService.findKingdomResources(kingdomId);
+    if (resources.isEmpty()) return null;
+
+    ResourceVector resourceVector = new ResourceVector(resources,
+        rateService.createRateTimeline(kingdomId, ResourceVector.findEarliestUpdateTime(resources)));
+    if (resourceVector.getResource(type) == null) return null;
+
     LocalDateTime now = LocalDateTime.now();
-    long duration = Duration.between(previousUpdateTime, now).getSeconds();
-    return duration;
+    if (resourceLedger.isEnabled()) {
+      int currentAmount = resourceLedger.findCurrentAmounts(kingdomId).getOrDefault(type, 0);
+      return resourceVector.getRateTimeline().findDepletionTime(type, currentAmount, resourceVector.getCapacity(type), now);
+    }
+    return resourceVector.findDepletionTime(type, now);
   }
 
-  public int calculateGoldReserve(Long kingdomId) {
-    updateResource(kingdomId, ResourceTypeENUM.GOLD);
-    Resource goldResource = resourceService.findResourceByKingdomAndType(kingdomId, ResourceTypeENUM.GOLD);
-    return goldResource.getAmount();
+  public void creditResource(Long kingdomId, ResourceTypeENUM type, int amount, TransactionReasonENUM reason) {
+    if (resourceLedger.isEnabled()) {
+      afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> resourceLedger.credit(kingdomId, type, amount));
+    } else {
+      resourceService.creditResource(kingdomId, type, amount, reason);
+    }
   }
 
-  public boolean isEnoughMoneyToCreateBuilding(Long kingdomId) {
-    return calculateGoldReserve(kingdomId) >= Building.CREATION_COST;
+  @EventListener
+  public void onCompletion(CompletionEvent completion) {
+    updateResources(completion.getKingdomId());
+    rateService.publishProductionChange(completion.getKingdomId());
   }
 
-  public boolean isEnoughMoneyToUpgradeBuilding(Long kingdomId, Long buildingId) {
-    Building building = buildingService.findBuildingByKingdomAndBuildingId(kingdomId, buildingId);
-    return calculateGoldReserve(kingdomId) >= building.getUpgradeCost();
+  public boolean spendGold(Long kingdomId, int cost) {
+    return spendGold(kingdomId, cost, TransactionReasonENUM.BUILDING_COST);
   }
 
-  public ResourcesDTO createResourcesDTO(Long kingdomId) {
+  public boolean spendGold(Long kingdomId, int cost, TransactionReasonENUM reason) {
     updateResources(kingdomId);
+    return debitGold(kingdomId, cost, reason);
+  }
+
+  @Transactional
+  public Building purchaseBuilding(Kingdom kingdom, String type) {
+    BuildingCatalog catalog = buildingService.findCatalog();
+    return purchase(kingdom.getId(), buildingService.findCreationCost(catalog, type), TransactionReasonENUM.BUILDING_COST,
+        () -> buildingService.createBuilding(catalog, kingdom, type));
+  }
+
+  @Transactional
+  public ArrayList<Building> purchaseBuildings(Kingdom kingdom, List<String> types) {
+    BuildingCatalog catalog = buildingService.findCatalog();
+    return purchase(kingdom.getId(), buildingService.calculateCreationCost(catalog, types),
+        TransactionReasonENUM.BUILDING_COST, () -> buildingService.createBuildings(catalog, kingdom, types));
+  }
+
+  @Transactional
+  public Building purchaseBuildingUpgrade(Kingdom kingdom, Building building, Integer level) {
+    BuildingCatalog catalog = buildingService.findCatalog();
+    BuildingTypeENUM type = building.getType();
+    return purchase(kingdom.getId(), buildingService.findUpgradeCost(catalog, type, level),
+        TransactionReasonENUM.BUILDING_COST, () -> {
+          if (type.equals(BuildingTypeENUM.TOWNHALL)) {
+            return buildingService.upgradeTownhall(catalog, kingdom.getId(), building.getId(), level);
+          }
+          if (type.equals(BuildingTypeENUM.MINE) || type.equals(BuildingTypeENUM.FARM)) {
+            return buildingService.upgradeProductionBuilding(catalog, kingdom.getId(), building.getId(), level);
+          }
+          return buildingService.upgradeBuilding(catalog, kingdom.getId(), building.getId(), level);
+        });
+  }
+
+  @Transactional
+  public BuildingUpgradeSummaryDTO purchaseBuildingUpgrades(Kingdom kingdom, BuildingTypeENUM type, int level,
+                                                            List<Long> buildingIds) {
+    BuildingCatalog catalog = buildingService.findCatalog();
+    int upgradeCost = buildingService.findUpgradeCost(catalog, type, level);
+    List<Long> upgradableBuildingIds = buildingService.lockUpgradableBuildingIds(buildingIds, level);
+    if (upgradableBuildingIds.isEmpty()) return new BuildingUpgradeSummaryDTO(type, level, 0, 0, null);
 
+    return purchase(kingdom.getId(), upgradeCost * upgradableBuildingIds.size(), TransactionReasonENUM.BUILDING_COST,
+        () -> buildingService.upgradeBuildings(catalog, kingdom, type, level, upgradableBuildingIds, upgradeCost));
+  }
+
+  public <T> T purchase(Long kingdomId, int cost, TransactionReasonENUM reason, Supplier<T> mutation) {
+    if (!debitGold(kingdomId, cost, reason)) return null;
+
+    T result = mutation.get();
+    if (result == null) TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+    return result;
+  }
+
+  private boolean debitGold(Long kingdomId, int cost, TransactionReasonENUM reason) {
+    if (!resourceLedger.isEnabled()) return resourceService.spendResource(kingdomId, ResourceTypeENUM.GOLD, cost, reason);
+    if (!resourceLedger.spend(kingdomId, ResourceTypeENUM.GOLD, cost)) return false;
+
+    afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK,
+        () -> resourceLedger.credit(kingdomId, ResourceTypeENUM.GOLD, cost));
+    return true;
+  }
+
+  private void afterCompletion(int expectedStatus, Runnable ledgerMutation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      if (expectedStatus == TransactionSynchronization.STATUS_COMMITTED) ledgerMutation.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == expectedStatus) ledgerMutation.run();
+      }
+    });
+  }
+
+  public ResourcesDTO createResourcesDTO(Long kingdomId) {
+    if (resourceLedger.isEnabled()) return createLedgerResourcesDTO(kingdomId);
+
+    ArrayList<ResourceDTO> resourceDTOlist = new ArrayList<>();
+    ResourceVector resourceVector = loadResourceVector(kingdomId);
+    if (resourceVector == null) return createStarterResourcesDTO(kingdomId);
+
+    LocalDateTime now = LocalDateTime.now();
+    for (ResourceTypeENUM type : resourceVector.getTypes()) {
+      resourceDTOlist.add(new ResourceDTO(type, resourceVector.amountAt(type, now), resourceVector.rateAt(type, now)));
+    }
+
+    return new ResourcesDTO(resourceDTOlist);
+  }
+
+  private ResourcesDTO createLedgerResourcesDTO(Long kingdomId) {
     ArrayList<ResourceDTO> resourceDTOlist = new ArrayList<>();
+    Map<ResourceTypeENUM, Integer> currentAmounts = resourceLedger.findCurrentAmounts(kingdomId);
+    if (currentAmounts.isEmpty()) return createStarterResourcesDTO(kingdomId);
 
-    Resource foodResource = resourceService.findResourceByKingdomAndType(kingdomId, ResourceTypeENUM.FOOD);
-    int foodNetGenerationRate = calculateNetFoodGenerationRate(kingdomId);
-    resourceDTOlist.add(new ResourceDTO(ResourceTypeENUM.FOOD, foodResource.getAmount(), foodNetGenerationRate));
+    for (Map.Entry<ResourceTypeENUM, Integer> currentAmount : currentAmounts.entrySet()) {
+      int generationRate = resourceLedger.findGenerationRate(kingdomId, currentAmount.getKey());
+      resourceDTOlist.add(new ResourceDTO(currentAmount.getKey(), currentAmount.getValue(), generationRate));
+    }
 
-    Resource goldResource = resourceService.findResourceByKingdomAndType(kingdomId, ResourceTypeENUM.GOLD);
-    int goldGenerationRate = buildingService.calculateGoldGenerationRate(kingdomId);
-    resourceDTOlist.add(new ResourceDTO(ResourceTypeENUM.GOLD, goldResource.getAmount(), goldGenerationRate));
+    return new ResourcesDTO(resourceDTOlist);
+  }
+
+  private ResourcesDTO createStarterResourcesDTO(Long kingdomId) {
+    ArrayList<ResourceDTO> resourceDTOlist = new ArrayList<>();
+    Kingdom virtualKingdom = starterKingdomService.findVirtualKingdom(kingdomId);
+    if (virtualKingdom == null) return new ResourcesDTO(resourceDTOlist);
+
+    StarterKingdomTemplate template = starterKingdomService.getTemplate();
+    LocalDateTime now = LocalDateTime.now();
+    for (ResourceTypeENUM type : template.getResourceTypes()) {
+      resourceDTOlist.add(new ResourceDTO(type, template.amountAt(type, virtualKingdom.getFoundedAt(), now),
+          template.rateAt(type)));
+    }
 
     return new ResourcesDTO(resourceDTOlist);
   }
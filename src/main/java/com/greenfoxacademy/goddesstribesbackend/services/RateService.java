@@ -0,0 +1,99 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomRates;
+import com.greenfoxacademy.goddesstribesbackend.models.ProductionChangedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.RateTimeline;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.RateChange;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.RateChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+public class RateService {
+
+  private KingdomRepository kingdomRepository;
+  private RateChangeRepository rateChangeRepository;
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public RateService(KingdomRepository kingdomRepository, RateChangeRepository rateChangeRepository,
+                     ApplicationEventPublisher eventPublisher) {
+    this.kingdomRepository = kingdomRepository;
+    this.rateChangeRepository = rateChangeRepository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  public void addProductionRate(Kingdom kingdom, BuildingTypeENUM type, int rateDelta, LocalDateTime effectiveAt) {
+    if (type.equals(BuildingTypeENUM.FARM)) {
+      kingdomRepository.addFoodProductionRate(kingdom.getId(), rateDelta);
+      saveRateChange(kingdom, ResourceTypeENUM.FOOD, rateDelta, effectiveAt, false);
+    } else if (type.equals(BuildingTypeENUM.MINE)) {
+      kingdomRepository.addGoldProductionRate(kingdom.getId(), rateDelta);
+      saveRateChange(kingdom, ResourceTypeENUM.GOLD, rateDelta, effectiveAt, false);
+    }
+    publishProductionChange(kingdom.getId());
+  }
+
+  public void addUpkeepRate(Kingdom kingdom, int rateDelta, LocalDateTime effectiveAt) {
+    kingdomRepository.addFoodUpkeepRate(kingdom.getId(), rateDelta);
+    saveRateChange(kingdom, ResourceTypeENUM.FOOD, -rateDelta, effectiveAt, true);
+    publishProductionChange(kingdom.getId());
+  }
+
+  public void publishProductionChange(Long kingdomId) {
+    eventPublisher.publishEvent(new ProductionChangedEvent(kingdomId));
+  }
+
+  private void saveRateChange(Kingdom kingdom, ResourceTypeENUM type, int delta, LocalDateTime effectiveAt,
+                              boolean upkeep) {
+    if (delta != 0 && effectiveAt.isAfter(LocalDateTime.now())) {
+      rateChangeRepository.save(new RateChange(kingdom, type, delta, effectiveAt, upkeep));
+    }
+  }
+
+  public RateTimeline createRateTimeline(Long kingdomId, LocalDateTime from) {
+    KingdomRates rates = kingdomRepository.findKingdomRates(kingdomId).get();
+    return createRateTimeline(kingdomId, rates.getFoodProductionRate() - rates.getFoodUpkeepRate(),
+        rates.getGoldProductionRate(), from);
+  }
+
+  public RateTimeline createRateTimeline(Kingdom kingdom, LocalDateTime from) {
+    return createRateTimeline(kingdom.getId(), kingdom.getFoodProductionRate() - kingdom.getFoodUpkeepRate(),
+        kingdom.getGoldProductionRate(), from);
+  }
+
+  private RateTimeline createRateTimeline(Long kingdomId, int foodRate, int goldRate, LocalDateTime from) {
+    Map<ResourceTypeENUM, Integer> targetRates = new EnumMap<>(ResourceTypeENUM.class);
+    targetRates.put(ResourceTypeENUM.FOOD, foodRate);
+    targetRates.put(ResourceTypeENUM.GOLD, goldRate);
+
+    return new RateTimeline(targetRates,
+        rateChangeRepository.findRateChangesByKingdom_IdAndEffectiveAtAfterOrderByEffectiveAt(kingdomId, from));
+  }
+
+  public RateTimeline createUpkeepTimeline(Kingdom kingdom, LocalDateTime from) {
+    Map<ResourceTypeENUM, Integer> targetRates = new EnumMap<>(ResourceTypeENUM.class);
+    targetRates.put(ResourceTypeENUM.FOOD, -kingdom.getFoodUpkeepRate());
+
+    return new RateTimeline(targetRates, rateChangeRepository
+        .findRateChangesByKingdom_IdAndUpkeepTrueAndEffectiveAtAfterOrderByEffectiveAt(kingdom.getId(), from));
+  }
+
+  public void deleteRateChangesUntil(Long kingdomId, LocalDateTime time) {
+    rateChangeRepository.deleteRateChangesUntil(kingdomId, time);
+  }
+
+  public int deleteConsumedRateChanges(LocalDateTime time) {
+    return rateChangeRepository.deleteConsumedRateChanges(time);
+  }
+
+}
@@ -0,0 +1,309 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomsDeletedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.ProductionChangedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.RateTimeline;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceVector;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceTransaction;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Service
+public class ResourceLedger {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceLedger.class);
+
+  private boolean enabled;
+  private long idleEvictionMillis;
+  private ResourceLedgerJournal journal;
+  private ResourceRepository resourceRepository;
+  private ResourceService resourceService;
+  private RateService rateService;
+  private Map<Long, LedgerEntry> entries = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ResourceLedger(@Value("${resources.ledger.enabled:false}") boolean enabled,
+                        @Value("${resources.ledger.journal-path:resource-ledger.journal}") String journalPath,
+                        @Value("${resources.ledger.journal-fsync:false}") boolean journalFsync,
+                        @Value("${resources.ledger.idle-eviction-millis:600000}") long idleEvictionMillis,
+                        ResourceRepository resourceRepository, ResourceService resourceService,
+                        RateService rateService) {
+    this.enabled = enabled;
+    this.idleEvictionMillis = idleEvictionMillis;
+    this.journal = new ResourceLedgerJournal(journalPath, journalFsync);
+    this.resourceRepository = resourceRepository;
+    this.resourceService = resourceService;
+    this.rateService = rateService;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @PostConstruct
+  public void recover() {
+    if (!enabled) return;
+
+    journal.open();
+    Map<Long, ResourceLedgerJournal.Record> records = journal.readLatestRecords();
+    if (!records.isEmpty()) {
+      writeRecords(records);
+      logger.info("Replayed resource ledger journal for {} kingdoms", records.size());
+    }
+    journal.rotate();
+    journal.discardRotated();
+  }
+
+  public Map<ResourceTypeENUM, Integer> findCurrentAmounts(Long kingdomId) {
+    return withEntry(kingdomId, new EnumMap<>(ResourceTypeENUM.class), entry -> {
+      Map<ResourceTypeENUM, Integer> currentAmounts = new EnumMap<>(ResourceTypeENUM.class);
+      settle(entry, LocalDateTime.now());
+      for (Map.Entry<ResourceTypeENUM, Double> amount : entry.amounts.entrySet()) {
+        currentAmounts.put(amount.getKey(), amount.getValue().intValue());
+      }
+      return currentAmounts;
+    });
+  }
+
+  public int findGenerationRate(Long kingdomId, ResourceTypeENUM type) {
+    return withEntry(kingdomId, 0, entry -> currentTimeline(entry).rateAt(type, LocalDateTime.now()));
+  }
+
+  public boolean spend(Long kingdomId, ResourceTypeENUM type, int cost) {
+    return withEntry(kingdomId, false, entry -> {
+      settle(entry, LocalDateTime.now());
+      double amount = entry.amounts.getOrDefault(type, 0.0);
+      if (amount < cost) return false;
+
+      entry.amounts.put(type, amount - cost);
+      record(entry);
+      return true;
+    });
+  }
+
+  public void credit(Long kingdomId, ResourceTypeENUM type, int amount) {
+    withEntry(kingdomId, null, entry -> {
+      settle(entry, LocalDateTime.now());
+      entry.amounts.put(type, entry.amounts.getOrDefault(type, 0.0) + amount);
+      record(entry);
+      return null;
+    });
+  }
+
+  @EventListener
+  public void onProductionChanged(ProductionChangedEvent event) {
+    Long kingdomId = event.getKingdomId();
+    invalidateTimeline(kingdomId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidateTimeline(kingdomId);
+        }
+      });
+    }
+  }
+
+  @EventListener
+  public void onKingdomsDeleted(KingdomsDeletedEvent event) {
+    for (Long kingdomId : event.getKingdomIds()) {
+      LedgerEntry entry = entries.remove(kingdomId);
+      if (entry == null) continue;
+
+      synchronized (entry) {
+        entry.evicted = true;
+        entry.dirty = false;
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${resources.ledger.flush-interval-millis:5000}")
+  public void flush() {
+    if (!enabled) return;
+
+    journal.rotate();
+    Map<Long, ResourceLedgerJournal.Record> records = new HashMap<>();
+    for (LedgerEntry entry : entries.values()) {
+      synchronized (entry) {
+        if (entry.dirty) {
+          records.put(entry.kingdomId, new ResourceLedgerJournal.Record(entry.kingdomId, entry.asOf, entry.amounts));
+          entry.dirty = false;
+        }
+      }
+    }
+
+    try {
+      writeRecords(records);
+      journal.discardRotated();
+    } catch (RuntimeException e) {
+      for (Long kingdomId : records.keySet()) {
+        LedgerEntry entry = entries.get(kingdomId);
+        if (entry != null) {
+          synchronized (entry) {
+            entry.dirty = true;
+          }
+        }
+      }
+      logger.error("Resource ledger flush failed, keeping {} kingdoms dirty", records.size(), e);
+    }
+
+    evictIdleEntries();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (!enabled) return;
+
+    flush();
+    journal.close();
+  }
+
+  private void invalidateTimeline(Long kingdomId) {
+    LedgerEntry entry = entries.get(kingdomId);
+    if (entry == null) return;
+
+    synchronized (entry) {
+      settle(entry, LocalDateTime.now());
+      entry.rateTimeline = null;
+    }
+  }
+
+  private <T> T withEntry(Long kingdomId, T missingValue, Function<LedgerEntry, T> operation) {
+    while (true) {
+      LedgerEntry entry = entries.computeIfAbsent(kingdomId, this::loadEntry);
+      if (entry == null) return missingValue;
+
+      synchronized (entry) {
+        if (!entry.evicted) {
+          entry.lastAccess = System.currentTimeMillis();
+          return operation.apply(entry);
+        }
+      }
+    }
+  }
+
+  private LedgerEntry loadEntry(Long kingdomId) {
+    ArrayList<Resource> resources = resourceRepository.findKingdomResources(kingdomId);
+    if (resources.isEmpty()) return null;
+
+    LocalDateTime now = LocalDateTime.now();
+    ResourceVector resourceVector = new ResourceVector(resources, rateService.createRateTimeline(
+        resources.get(0).getTownhall().getKingdom(), ResourceVector.findEarliestUpdateTime(resources)));
+
+    LedgerEntry entry = new LedgerEntry(kingdomId);
+    entry.rateTimeline = resourceVector.getRateTimeline();
+    for (ResourceTypeENUM type : resourceVector.getTypes()) {
+      Resource resource = resourceVector.getResource(type);
+      entry.capacities.put(type, resourceVector.getCapacity(type));
+      entry.amounts.put(type, entry.rateTimeline.accrueExact(type, resource.getAmount(),
+          resourceVector.getCapacity(type), resource.getUpdateTime(), now));
+    }
+    entry.asOf = now;
+    return entry;
+  }
+
+  private RateTimeline currentTimeline(LedgerEntry entry) {
+    if (entry.rateTimeline == null) {
+      ArrayList<Resource> resources = resourceRepository.findKingdomResources(entry.kingdomId);
+      entry.rateTimeline = rateService.createRateTimeline(resources.get(0).getTownhall().getKingdom(), entry.asOf);
+      for (Resource resource : resources) {
+        entry.capacities.put(resource.getType(), resource.getTownhall().getCapacity(resource.getType()));
+      }
+    }
+    return entry.rateTimeline;
+  }
+
+  private void settle(LedgerEntry entry, LocalDateTime now) {
+    if (!now.isAfter(entry.asOf)) return;
+
+    RateTimeline rateTimeline = currentTimeline(entry);
+    for (Map.Entry<ResourceTypeENUM, Double> amount : entry.amounts.entrySet()) {
+      int capacity = entry.capacities.getOrDefault(amount.getKey(), Integer.MAX_VALUE);
+      amount.setValue(rateTimeline.accrueExact(amount.getKey(), amount.getValue(), capacity, entry.asOf, now));
+    }
+    entry.asOf = now;
+  }
+
+  private void record(LedgerEntry entry) {
+    journal.append(new ResourceLedgerJournal.Record(entry.kingdomId, entry.asOf, entry.amounts));
+    entry.dirty = true;
+  }
+
+  private void writeRecords(Map<Long, ResourceLedgerJournal.Record> records) {
+    if (records.isEmpty()) return;
+
+    ArrayList<Resource> resources = resourceRepository.findKingdomResourcesIn(records.keySet());
+    ArrayList<Resource> changedResources = new ArrayList<>();
+    ArrayList<ResourceTransaction> transactions = new ArrayList<>();
+    for (Resource resource : resources) {
+      Long kingdomId = resource.getTownhall().getKingdom().getId();
+      ResourceLedgerJournal.Record record = records.get(kingdomId);
+      Double amount = record.getAmounts().get(resource.getType());
+      if (amount == null || record.getAsOf().isBefore(resource.getUpdateTime())) continue;
+
+      int amountChange = amount.intValue() - resource.getAmount();
+      resource.setAmount(amount.intValue());
+      resource.setUpdateTime(record.getAsOf());
+      changedResources.add(resource);
+      if (amountChange != 0) {
+        transactions.add(new ResourceTransaction(kingdomId, resource.getType(), TransactionReasonENUM.LEDGER_SYNC, amountChange));
+      }
+    }
+    resourceService.saveAll(changedResources, transactions);
+
+    for (ResourceLedgerJournal.Record record : records.values()) {
+      rateService.deleteRateChangesUntil(record.getKingdomId(), record.getAsOf());
+    }
+  }
+
+  private void evictIdleEntries() {
+    long evictBefore = System.currentTimeMillis() - idleEvictionMillis;
+    for (LedgerEntry entry : entries.values()) {
+      synchronized (entry) {
+        if (!entry.dirty && entry.lastAccess < evictBefore) {
+          entry.evicted = true;
+          entries.remove(entry.kingdomId, entry);
+        }
+      }
+    }
+  }
+
+  private static class LedgerEntry {
+
+    private Long kingdomId;
+    private Map<ResourceTypeENUM, Double> amounts = new EnumMap<>(ResourceTypeENUM.class);
+    private Map<ResourceTypeENUM, Integer> capacities = new EnumMap<>(ResourceTypeENUM.class);
+    private LocalDateTime asOf;
+    private RateTimeline rateTimeline;
+    private boolean dirty;
+    private boolean evicted;
+    private long lastAccess;
+
+    private LedgerEntry(Long kingdomId) {
+      this.kingdomId = kingdomId;
+    }
+
+  }
+
+}
@@ -0,0 +1,169 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ResourceLedgerJournal {
+
+  private static final String RECORD_END = "#";
+
+  private Path journalPath;
+  private Path rotatedPath;
+  private boolean fsync;
+  private FileChannel channel;
+
+  public ResourceLedgerJournal(String journalPath, boolean fsync) {
+    this.journalPath = Paths.get(journalPath);
+    this.rotatedPath = Paths.get(journalPath + ".flushing");
+    this.fsync = fsync;
+  }
+
+  public synchronized void open() {
+    try {
+      Path parent = journalPath.toAbsolutePath().getParent();
+      if (parent != null) Files.createDirectories(parent);
+      channel = openChannel(journalPath);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public synchronized void append(Record record) {
+    try {
+      ByteBuffer line = ByteBuffer.wrap(record.toLine().getBytes(StandardCharsets.UTF_8));
+      while (line.hasRemaining()) {
+        channel.write(line);
+      }
+      if (fsync) channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public synchronized void rotate() {
+    try {
+      channel.close();
+      if (Files.exists(rotatedPath)) {
+        Files.write(rotatedPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+        Files.delete(journalPath);
+      } else {
+        Files.move(journalPath, rotatedPath, StandardCopyOption.ATOMIC_MOVE);
+      }
+      channel = openChannel(journalPath);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public synchronized void discardRotated() {
+    try {
+      Files.deleteIfExists(rotatedPath);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public synchronized Map<Long, Record> readLatestRecords() {
+    Map<Long, Record> latestRecords = new HashMap<>();
+    readRecords(rotatedPath, latestRecords);
+    readRecords(journalPath, latestRecords);
+    return latestRecords;
+  }
+
+  public synchronized void close() {
+    try {
+      if (channel != null) channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private FileChannel openChannel(Path path) throws IOException {
+    return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private void readRecords(Path path, Map<Long, Record> latestRecords) {
+    if (!Files.exists(path)) return;
+
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Record record = Record.fromLine(line);
+        if (record == null) continue;
+
+        Record previous = latestRecords.get(record.getKingdomId());
+        if (previous == null || !record.getAsOf().isBefore(previous.getAsOf())) {
+          latestRecords.put(record.getKingdomId(), record);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static class Record {
+
+    private Long kingdomId;
+    private LocalDateTime asOf;
+    private Map<ResourceTypeENUM, Double> amounts;
+
+    public Record(Long kingdomId, LocalDateTime asOf, Map<ResourceTypeENUM, Double> amounts) {
+      this.kingdomId = kingdomId;
+      this.asOf = asOf;
+      this.amounts = new EnumMap<>(amounts);
+    }
+
+    public Long getKingdomId() {
+      return kingdomId;
+    }
+
+    public LocalDateTime getAsOf() {
+      return asOf;
+    }
+
+    public Map<ResourceTypeENUM, Double> getAmounts() {
+      return amounts;
+    }
+
+    private String toLine() {
+      StringBuilder line = new StringBuilder().append(kingdomId).append(';').append(asOf);
+      for (Map.Entry<ResourceTypeENUM, Double> amount : amounts.entrySet()) {
+        line.append(';').append(amount.getKey()).append('=').append(amount.getValue());
+      }
+      return line.append(';').append(RECORD_END).append('\n').toString();
+    }
+
+    private static Record fromLine(String line) {
+      String[] fields = line.split(";");
+      if (fields.length < 3 || !fields[fields.length - 1].equals(RECORD_END)) return null;
+
+      try {
+        Map<ResourceTypeENUM, Double> amounts = new EnumMap<>(ResourceTypeENUM.class);
+        for (int i = 2; i < fields.length - 1; i++) {
+          String[] amount = fields[i].split("=");
+          amounts.put(ResourceTypeENUM.valueOf(amount[0]), Double.parseDouble(amount[1]));
+        }
+        return new Record(Long.parseLong(fields[0]), LocalDateTime.parse(fields[1]), amounts);
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+
+  }
+
+}
@@ -1,14 +1,19 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
 import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.ResourceDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceTransaction;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
 import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,32 +21,82 @@ import java.util.List;
 public class ResourceService {
 
   private ResourceRepository resourceRepository;
+  private ResourceTransactionRepository resourceTransactionRepository;
 
   @Autowired
-  public ResourceService(ResourceRepository resourceRepository) {
+  public ResourceService(ResourceRepository resourceRepository,
+                         ResourceTransactionRepository resourceTransactionRepository) {
     this.resourceRepository = resourceRepository;
+    this.resourceTransactionRepository = resourceTransactionRepository;
   }
 
-  public Resource saveFoodAtStart(Townhall townhall) {
-    Resource food = new Resource(ResourceTypeENUM.FOOD, Townhall.START_FOOD_AMOUNT, townhall);
-    return resourceRepository.save(food);
-  }
-
-  public Resource saveGoldAtStart(Townhall townhall) {
-    Resource gold = new Resource(ResourceTypeENUM.GOLD, Townhall.START_GOLD_AMOUNT, townhall);
-    return resourceRepository.save(gold);
+  @Transactional
+  public Resource saveResourceAtStart(Townhall townhall, ResourceTypeENUM type, int amount) {
+    Resource resource = resourceRepository.save(new Resource(type, amount, townhall));
+    recordTransaction(townhall.getKingdom().getId(), type, TransactionReasonENUM.INITIAL, amount);
+    return resource;
   }
 
   public Resource save(Resource resource) {
     return resourceRepository.save(resource);
   }
 
+  @Transactional
+  public Resource save(Resource resource, int amountChange, TransactionReasonENUM reason) {
+    Resource savedResource = resourceRepository.save(resource);
+    recordTransaction(savedResource.getTownhall().getKingdom().getId(), savedResource.getType(), reason, amountChange);
+    return savedResource;
+  }
+
+  @Transactional
+  public void saveAll(List<Resource> resources, List<ResourceTransaction> transactions) {
+    resourceRepository.saveAll(resources);
+    resourceTransactionRepository.saveAll(transactions);
+  }
+
   public ArrayList<Resource> findResourcesByKingdom(Long kingdomId) {
     return resourceRepository.findResourcesByTownhall_Kingdom_Id(kingdomId);
   }
 
+  public ArrayList<Resource> findKingdomResources(Long kingdomId) {
+    return resourceRepository.findKingdomResources(kingdomId);
+  }
+
   public Resource findResourceByKingdomAndType(Long kingdomId, ResourceTypeENUM type) {
     return resourceRepository.findResourceByTownhall_Kingdom_IdAndType(kingdomId, type).orElse(null);
   }
 
+  @Transactional
+  public boolean spendResource(Long kingdomId, ResourceTypeENUM type, int cost, TransactionReasonENUM reason) {
+    if (resourceRepository.debitResource(kingdomId, type, cost) != 1) return false;
+
+    recordTransaction(kingdomId, type, reason, -cost);
+    return true;
+  }
+
+  @Transactional
+  public void creditResource(Long kingdomId, ResourceTypeENUM type, int amount, TransactionReasonENUM reason) {
+    if (resourceRepository.creditResource(kingdomId, type, amount) == 1) {
+      recordTransaction(kingdomId, type, reason, amount);
+    }
+  }
+
+  public long findLastResourceId() {
+    return resourceRepository.findLastResourceId();
+  }
+
+  @Transactional
+  public int advanceResources(long fromId, long toId, LocalDateTime now, long minElapsedSeconds) {
+    int foodType = ResourceTypeENUM.FOOD.ordinal();
+    resourceRepository.recordAdvanceTransactions(fromId, toId, now, minElapsedSeconds, foodType,
+        TransactionReasonENUM.PRODUCTION.ordinal(), TransactionReasonENUM.UPKEEP.ordinal());
+    return resourceRepository.advanceResources(fromId, toId, now, minElapsedSeconds, foodType);
+  }
+
+  private void recordTransaction(Long kingdomId, ResourceTypeENUM type, TransactionReasonENUM reason, int amount) {
+    if (amount != 0) {
+      resourceTransactionRepository.save(new ResourceTransaction(kingdomId, type, reason, amount));
+    }
+  }
+
 }
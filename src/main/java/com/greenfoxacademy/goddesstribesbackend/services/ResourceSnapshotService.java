@@ -0,0 +1,94 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceSnapshot;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceSnapshotRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ResourceSnapshotService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceSnapshotService.class);
+  private static final int KINGDOM_CHUNK_SIZE = 500;
+
+  private long commitLagMillis;
+  private ResourceSnapshotRepository resourceSnapshotRepository;
+  private ResourceTransactionRepository resourceTransactionRepository;
+
+  @Autowired
+  public ResourceSnapshotService(@Value("${resources.snapshot.commit-lag-millis:60000}") long commitLagMillis,
+                                 ResourceSnapshotRepository resourceSnapshotRepository,
+                                 ResourceTransactionRepository resourceTransactionRepository) {
+    this.commitLagMillis = commitLagMillis;
+    this.resourceSnapshotRepository = resourceSnapshotRepository;
+    this.resourceTransactionRepository = resourceTransactionRepository;
+  }
+
+  @Scheduled(fixedDelayString = "${resources.snapshot.interval-millis:300000}")
+  @Transactional
+  public int takeSnapshots() {
+    long startedAt = System.currentTimeMillis();
+    long afterId = resourceSnapshotRepository.findLastSnapshotTransactionId();
+    long untilId = resourceTransactionRepository.findLastTransactionIdBefore(
+        LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS));
+    if (untilId <= afterId) return 0;
+
+    Map<Long, Map<ResourceTypeENUM, Long>> amountChanges = new HashMap<>();
+    for (Object[] sum : resourceTransactionRepository.sumAmountsBetween(afterId, untilId)) {
+      amountChanges.computeIfAbsent((Long) sum[0], kingdomId -> new HashMap<>())
+          .put((ResourceTypeENUM) sum[1], ((Number) sum[2]).longValue());
+    }
+
+    List<Long> kingdomIds = new ArrayList<>(amountChanges.keySet());
+    for (int from = 0; from < kingdomIds.size(); from += KINGDOM_CHUNK_SIZE) {
+      List<Long> kingdomChunk = kingdomIds.subList(from, Math.min(from + KINGDOM_CHUNK_SIZE, kingdomIds.size()));
+      saveSnapshots(kingdomChunk, amountChanges, untilId);
+    }
+
+    logger.info("Took resource snapshots for {} kingdoms up to transaction {} in {} ms",
+        kingdomIds.size(), untilId, System.currentTimeMillis() - startedAt);
+    return kingdomIds.size();
+  }
+
+  private void saveSnapshots(List<Long> kingdomIds, Map<Long, Map<ResourceTypeENUM, Long>> amountChanges, long untilId) {
+    Map<Long, Map<ResourceTypeENUM, Long>> previousAmounts = new HashMap<>();
+    for (ResourceSnapshot snapshot : resourceSnapshotRepository.findLatestSnapshots(kingdomIds)) {
+      previousAmounts.computeIfAbsent(snapshot.getKingdomId(), kingdomId -> new HashMap<>())
+          .put(snapshot.getType(), snapshot.getAmount());
+    }
+
+    ArrayList<ResourceSnapshot> snapshots = new ArrayList<>();
+    for (Long kingdomId : kingdomIds) {
+      Map<ResourceTypeENUM, Long> previousKingdomAmounts = previousAmounts.getOrDefault(kingdomId, new HashMap<>());
+      for (Map.Entry<ResourceTypeENUM, Long> amountChange : amountChanges.get(kingdomId).entrySet()) {
+        long amount = previousKingdomAmounts.getOrDefault(amountChange.getKey(), 0L) + amountChange.getValue();
+        snapshots.add(new ResourceSnapshot(kingdomId, amountChange.getKey(), amount, untilId));
+      }
+    }
+    resourceSnapshotRepository.saveAll(snapshots);
+  }
+
+  public long calculateBalance(Long kingdomId, ResourceTypeENUM type) {
+    ResourceSnapshot snapshot = resourceSnapshotRepository
+        .findFirstByKingdomIdAndTypeOrderByLastTransactionIdDesc(kingdomId, type).orElse(null);
+    long snapshotAmount = snapshot == null ? 0 : snapshot.getAmount();
+    long lastTransactionId = snapshot == null ? 0 : snapshot.getLastTransactionId();
+
+    return snapshotAmount + resourceTransactionRepository.sumAmountsAfter(kingdomId, type, lastTransactionId);
+  }
+
+}
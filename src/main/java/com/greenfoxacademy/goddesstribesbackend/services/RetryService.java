@@ -0,0 +1,54 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Service
+public class RetryService {
+
+  private int maxAttempts;
+  private long backoffMillis;
+
+  @Autowired
+  public RetryService(@Value("${retry.optimistic.max-attempts:5}") int maxAttempts,
+                      @Value("${retry.optimistic.backoff-millis:10}") long backoffMillis) {
+    this.maxAttempts = maxAttempts;
+    this.backoffMillis = backoffMillis;
+  }
+
+  public <T> T retryOnConflict(Supplier<T> mutation) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return mutation.get();
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) throw e;
+        sleepWithJitter(attempt);
+      }
+    }
+  }
+
+  public void retryOnConflict(Runnable mutation) {
+    retryOnConflict(() -> {
+      mutation.run();
+      return null;
+    });
+  }
+
+  private void sleepWithJitter(int attempt) {
+    long maxBackoff = backoffMillis << Math.min(attempt - 1, 10);
+    if (maxBackoff <= 0) return;
+
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(maxBackoff + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to retry", e);
+    }
+  }
+
+}
@@ -1,42 +1,157 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldierDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldiersDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BarrackRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
 import com.greenfoxacademy.goddesstribesbackend.repositories.SoldierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Service
 public class SoldierService {
 
   private SoldierRepository soldierRepository;
+  private BarrackRepository barrackRepository;
+  private KingdomRepository kingdomRepository;
+  private RateService rateService;
+  private ProductionService productionService;
+  private CompletionService completionService;
 
   @Autowired
-  public SoldierService(SoldierRepository soldierRepository) {
+  public SoldierService(SoldierRepository soldierRepository, BarrackRepository barrackRepository,
+                        KingdomRepository kingdomRepository, RateService rateService,
+                        ProductionService productionService, CompletionService completionService) {
     this.soldierRepository = soldierRepository;
+    this.barrackRepository = barrackRepository;
+    this.kingdomRepository = kingdomRepository;
+    this.rateService = rateService;
+    this.productionService = productionService;
+    this.completionService = completionService;
   }
 
-  public ArrayList<Soldier> findSoldiersByKingdom(Long kingdomId) {
-    return soldierRepository.findSoldiersByBarrack_Kingdom_Id(kingdomId);
+  @Transactional
+  public Soldier saveTrainedSoldiers(Kingdom kingdom, int quantity, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    kingdomRepository.addArmy(kingdom.getId(), quantity, Soldier.calculatePower(1, quantity));
+    Optional<Soldier> idleStack = soldierRepository
+        .findFirstByKingdom_IdAndLevelAndFinishedAtLessThanEqualOrderByIdAsc(kingdom.getId(), 1, finishedAt);
+    if (idleStack.isPresent() && soldierRepository.addSoldiers(idleStack.get().getId(), quantity) == 1) {
+      return idleStack.get();
+    }
+    return soldierRepository.save(new Soldier(kingdom, quantity, startedAt, finishedAt));
+  }
+
+  public Soldier findSoldierByKingdomAndSoldierId(Long kingdomId, Long soldierId) {
+    return soldierRepository.findSoldierByKingdom_IdAndId(kingdomId, soldierId).orElse(null);
+  }
+
+  public Soldier findIdleStack(Long kingdomId, int level) {
+    return soldierRepository
+        .findFirstByKingdom_IdAndLevelAndFinishedAtLessThanEqualOrderByIdAsc(kingdomId, level, LocalDateTime.now())
+        .orElse(null);
+  }
+
+  public boolean isValidLevel(Soldier soldier, int level) {
+    if (level != soldier.getLevel() + 1) return false;
+    if (soldier.getFinishedAt().isAfter(LocalDateTime.now())) return false;
+    Integer barrackLevel = barrackRepository.findHighestBarrackLevel(soldier.getKingdom().getId());
+    return barrackLevel != null && level <= barrackLevel;
+  }
+
+  @Transactional
+  public Soldier purchaseSoldierUpgrade(Soldier stack, int level, int quantity) {
+    return productionService.purchase(stack.getKingdom().getId(), Soldier.UPGRADING_COST * quantity,
+        TransactionReasonENUM.SOLDIER_COST, () -> upgradeSoldiers(stack, level, quantity));
   }
 
-  public int calculateFoodConsumptionRate(Long kingdomId) {
-    int consumptionRate = 0;
-    ArrayList<Soldier> soldiers = findSoldiersByKingdom(kingdomId);
+  @Transactional
+  public Soldier upgradeSoldiers(Soldier stack, int level, int quantity) {
+    LocalDateTime startedAt = LocalDateTime.now();
+    if (soldierRepository.removeSoldiers(stack.getId(), level - 1, quantity, startedAt) == 0) return null;
+    bookPendingPower(stack, startedAt);
+    soldierRepository.deleteIfEmpty(stack.getId());
 
-    for (Soldier soldier : soldiers) {
-      int soldierConsumptionRate = soldier.getConsumptionRate();
-      if (LocalDateTime.now().isBefore(soldier.getFinishedAt())) {
-        soldierConsumptionRate -= Soldier.CONSUMPTION_RATE_PER_LEVEL;
-      }
-      consumptionRate += soldierConsumptionRate;
+    LocalDateTime finishedAt = startedAt.plusMinutes(Soldier.NEEDED_TIME);
+    Soldier upgradedStack = new Soldier(stack.getKingdom(), level, quantity, startedAt, finishedAt);
+    upgradedStack.setPendingPower(Soldier.calculatePower(level, quantity) - Soldier.calculatePower(level - 1, quantity));
+    upgradedStack = soldierRepository.save(upgradedStack);
+    rateService.addUpkeepRate(stack.getKingdom(),
+        (upgradedStack.getConsumptionRate() - stack.getConsumptionRate()) * quantity, finishedAt);
+    completionService.scheduleSoldierCompletion(upgradedStack);
+    return upgradedStack;
+  }
+
+  @EventListener
+  @Transactional
+  public void onCompletion(CompletionEvent completion) {
+    if (completion.getType() != CompletionTypeENUM.SOLDIER) return;
+    LocalDateTime now = LocalDateTime.now();
+    Soldier stack = soldierRepository.findById(completion.getId()).orElse(null);
+    if (stack == null || stack.getFinishedAt().isAfter(now)) return;
+    bookPendingPower(stack, now);
+
+    Optional<Soldier> idleStack = soldierRepository.findFirstByKingdom_IdAndLevelAndIdNotAndFinishedAtLessThanEqualOrderByIdAsc(
+        completion.getKingdomId(), stack.getLevel(), stack.getId(), now);
+    if (!idleStack.isPresent()) return;
+    if (soldierRepository.addSoldiers(idleStack.get().getId(), stack.getQuantity()) == 0) return;
+    if (soldierRepository.removeSoldiers(stack.getId(), stack.getLevel(), stack.getQuantity(), now) == 0) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      return;
     }
-    return consumptionRate;
+    soldierRepository.deleteIfEmpty(stack.getId());
+  }
+
+  private void bookPendingPower(Soldier stack, LocalDateTime now) {
+    if (stack.getPendingPower() == 0) return;
+    if (soldierRepository.clearPendingPower(stack.getId(), stack.getPendingPower(), now) == 1) {
+      kingdomRepository.addArmy(stack.getKingdom().getId(), 0, stack.getPendingPower());
+    }
+  }
+
+  @Transactional
+  public int desertSoldiers(Long kingdomId, int foodDeficit) {
+    LocalDateTime now = LocalDateTime.now();
+    ArrayList<Soldier> stacks = soldierRepository
+        .findSoldiersByKingdom_IdAndFinishedAtBeforeOrderByConsumptionRateDesc(kingdomId, now);
+    int deserters = 0;
+    int desertedConsumption = 0;
+    long desertedPower = 0;
+
+    for (Soldier stack : stacks) {
+      if (desertedConsumption >= foodDeficit) break;
+      int remainingDeficit = foodDeficit - desertedConsumption;
+      int quantity = Math.min(stack.getQuantity(),
+          (remainingDeficit + stack.getConsumptionRate() - 1) / stack.getConsumptionRate());
+      if (quantity == 0 || soldierRepository.removeSoldiers(stack.getId(), stack.getLevel(), quantity, now) == 0) continue;
+      bookPendingPower(stack, now);
+      soldierRepository.deleteIfEmpty(stack.getId());
+      deserters += quantity;
+      desertedConsumption += quantity * stack.getConsumptionRate();
+      desertedPower += Soldier.calculatePower(stack.getLevel(), quantity);
+    }
+    if (deserters == 0) return 0;
+
+    kingdomRepository.addArmy(kingdomId, -deserters, -desertedPower);
+
+    rateService.addUpkeepRate(stacks.get(0).getKingdom(), -desertedConsumption, now);
+    return deserters;
+  }
+
+  public ArrayList<Soldier> findSoldiersByKingdom(Long kingdomId) {
+    return soldierRepository.findSoldiersByKingdom_Id(kingdomId);
   }
 
   public SoldierDTO createSoldierDTO(Soldier soldier) {
@@ -49,6 +164,7 @@ public class SoldierService {
       soldierLevel -= 1;
     }
     soldierDTO.setLevel(soldierLevel);
+    soldierDTO.setQuantity(soldier.getQuantity());
 
     Timestamp startedAt = Timestamp.valueOf(soldier.getStartedAt());
     soldierDTO.setStartedAt(startedAt);
@@ -57,14 +173,9 @@ public class SoldierService {
     return soldierDTO;
   }
 
+  @Transactional(readOnly = true)
   public SoldiersDTO createSoldiersDTO(Long kingdomId) {
-    ArrayList<Soldier> soldierList = soldierRepository.findSoldiersByBarrack_Kingdom_Id(kingdomId);
-    ArrayList<SoldierDTO> soldierDTOList = new ArrayList<>();
-
-    for (Soldier soldier : soldierList) {
-      soldierDTOList.add(createSoldierDTO(soldier));
-    }
-    return new SoldiersDTO(soldierDTOList);
+    return new SoldiersDTO(soldierRepository.findSoldierDTOsByKingdomId(kingdomId, LocalDateTime.now()));
   }
 
 }
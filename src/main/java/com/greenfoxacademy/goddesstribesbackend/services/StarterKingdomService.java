@@ -0,0 +1,41 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingCatalog;
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StarterKingdomService {
+
+  private KingdomRepository kingdomRepository;
+  private BuildingCatalogService buildingCatalogService;
+  private volatile StarterKingdomTemplate template;
+
+  @Autowired
+  public StarterKingdomService(KingdomRepository kingdomRepository, BuildingCatalogService buildingCatalogService) {
+    this.kingdomRepository = kingdomRepository;
+    this.buildingCatalogService = buildingCatalogService;
+  }
+
+  public StarterKingdomTemplate getTemplate() {
+    BuildingCatalog catalog = buildingCatalogService.getCatalog();
+    StarterKingdomTemplate currentTemplate = template;
+    if (currentTemplate == null || !currentTemplate.isBuiltFrom(catalog)) {
+      currentTemplate = new StarterKingdomTemplate(catalog);
+      template = currentTemplate;
+    }
+    return currentTemplate;
+  }
+
+  public Kingdom findVirtualKingdom(Long kingdomId) {
+    return kingdomRepository.findById(kingdomId).filter(kingdom -> !kingdom.isActive()).orElse(null);
+  }
+
+  public Kingdom findVirtualKingdomByUsername(String username) {
+    return kingdomRepository.findKingdomByUser_Username(username).filter(kingdom -> !kingdom.isActive()).orElse(null);
+  }
+
+}
@@ -0,0 +1,101 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomsDeletedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.ProductionChangedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+@Service
+public class StarvationService {
+
+  private static final Logger logger = LoggerFactory.getLogger(StarvationService.class);
+
+  private TaskScheduler taskScheduler;
+  private ProductionService productionService;
+  private SoldierService soldierService;
+  private KingdomRepository kingdomRepository;
+  private Map<Long, ScheduledFuture<?>> starvationEvents = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StarvationService(TaskScheduler taskScheduler, ProductionService productionService,
+                           SoldierService soldierService, KingdomRepository kingdomRepository) {
+    this.taskScheduler = taskScheduler;
+    this.productionService = productionService;
+    this.soldierService = soldierService;
+    this.kingdomRepository = kingdomRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void scheduleStarvationEvents() {
+    for (Long kingdomId : kingdomRepository.findKingdomIdsWithFoodUpkeep()) {
+      recalculateStarvationTime(kingdomId);
+    }
+  }
+
+  @EventListener
+  public void onProductionChanged(ProductionChangedEvent event) {
+    recalculateStarvationTime(event.getKingdomId());
+  }
+
+  @EventListener
+  public void onKingdomsDeleted(KingdomsDeletedEvent event) {
+    for (Long kingdomId : event.getKingdomIds()) {
+      ScheduledFuture<?> starvationEvent = starvationEvents.remove(kingdomId);
+      if (starvationEvent != null) starvationEvent.cancel(false);
+    }
+  }
+
+  public LocalDateTime recalculateStarvationTime(Long kingdomId) {
+    LocalDateTime starvationTime = productionService.calculateDepletionTime(kingdomId, ResourceTypeENUM.FOOD);
+
+    starvationEvents.compute(kingdomId, (id, previousEvent) -> {
+      if (previousEvent != null) previousEvent.cancel(false);
+      if (starvationTime == null) return null;
+
+      Date startTime = Date.from(starvationTime.atZone(ZoneId.systemDefault()).toInstant());
+      return taskScheduler.schedule(() -> starve(kingdomId), startTime);
+    });
+    return starvationTime;
+  }
+
+  public void starve(Long kingdomId) {
+    try {
+      productionService.updateResources(kingdomId);
+      int food = productionService.calculateCurrentAmount(kingdomId, ResourceTypeENUM.FOOD);
+      if (food > 0) {
+        recalculateStarvationTime(kingdomId);
+        return;
+      }
+
+      if (food < 0) {
+        productionService.creditResource(kingdomId, ResourceTypeENUM.FOOD, -food, TransactionReasonENUM.STARVATION);
+      }
+      int foodDeficit = -productionService.calculateNetFoodGenerationRate(kingdomId);
+      if (foodDeficit <= 0) {
+        recalculateStarvationTime(kingdomId);
+        return;
+      }
+
+      int deserters = soldierService.desertSoldiers(kingdomId, foodDeficit);
+      logger.info("Kingdom {} ran out of food, {} soldiers deserted", kingdomId, deserters);
+    } catch (RuntimeException e) {
+      logger.error("Starvation event failed for kingdom {}", kingdomId, e);
+    }
+  }
+
+}
@@ -0,0 +1,160 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TrainingLanes;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.TrainingOrderDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.TrainingQueueDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Barrack;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.TrainingOrder;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BarrackRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TrainingOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class TrainingService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TrainingService.class);
+
+  private int slots;
+  private int maxQuantity;
+  private TrainingOrderRepository trainingOrderRepository;
+  private BarrackRepository barrackRepository;
+  private KingdomRepository kingdomRepository;
+  private SoldierService soldierService;
+  private RateService rateService;
+  private ProductionService productionService;
+  private CompletionService completionService;
+
+  @Autowired
+  public TrainingService(@Value("${soldiers.queue.slots:5}") int slots,
+                         @Value("${soldiers.training.max-quantity:1000}") int maxQuantity,
+                         TrainingOrderRepository trainingOrderRepository, BarrackRepository barrackRepository,
+                         KingdomRepository kingdomRepository, SoldierService soldierService, RateService rateService,
+                         ProductionService productionService, CompletionService completionService) {
+    this.slots = slots;
+    this.maxQuantity = maxQuantity;
+    this.trainingOrderRepository = trainingOrderRepository;
+    this.barrackRepository = barrackRepository;
+    this.kingdomRepository = kingdomRepository;
+    this.soldierService = soldierService;
+    this.rateService = rateService;
+    this.productionService = productionService;
+    this.completionService = completionService;
+  }
+
+  public boolean isValidQuantity(int quantity) {
+    return quantity >= 1 && quantity <= maxQuantity;
+  }
+
+  public boolean isQueueFull(Long kingdomId) {
+    return trainingOrderRepository.countTrainingOrdersByKingdom_Id(kingdomId) >= slots;
+  }
+
+  public boolean hasTrainingBarrack(Long kingdomId) {
+    return barrackRepository.findFirstByKingdom_IdAndStateNotOrderByIdAsc(kingdomId, BuildingStateENUM.CONSTRUCTING)
+        .isPresent();
+  }
+
+  public int calculateTrainingCost(int quantity) {
+    return Soldier.CREATION_COST * quantity;
+  }
+
+  public TrainingLanes createTrainingLanes(Long kingdomId, LocalDateTime startedAt) {
+    TrainingLanes trainingLanes = new TrainingLanes();
+    for (Barrack barrack : barrackRepository.findBarracksByKingdom_Id(kingdomId)) {
+      if (barrack.getState() == BuildingStateENUM.IDLE) {
+        trainingLanes.addLane(startedAt, barrack.getLevel());
+      } else {
+        trainingLanes.addLane(startedAt, barrack.getLevel() - 1);
+        trainingLanes.addLane(barrack.getFinishedAt(), 1);
+      }
+    }
+    return trainingLanes;
+  }
+
+  @Transactional
+  public TrainingOrder purchaseTraining(Kingdom kingdom, int quantity) {
+    if (!kingdomRepository.lockKingdom(kingdom.getId()).isPresent() || isQueueFull(kingdom.getId())) return null;
+
+    int cost = calculateTrainingCost(quantity);
+    return productionService.purchase(kingdom.getId(), cost, TransactionReasonENUM.SOLDIER_COST,
+        () -> enqueueTraining(kingdom, quantity, cost));
+  }
+
+  private TrainingOrder enqueueTraining(Kingdom kingdom, int quantity, int cost) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime startedAt = trainingOrderRepository.findFirstByKingdom_IdOrderByFinishedAtDesc(kingdom.getId())
+        .map(TrainingOrder::getFinishedAt)
+        .filter(now::isBefore)
+        .orElse(now);
+    LocalDateTime finishedAt = createTrainingLanes(kingdom.getId(), startedAt)
+        .calculateFinishedAt(startedAt, quantity, Soldier.NEEDED_TIME * 60L);
+
+    TrainingOrder order = trainingOrderRepository.save(new TrainingOrder(kingdom, quantity, cost, startedAt, finishedAt));
+    rateService.addUpkeepRate(kingdom, Soldier.START_CONSUMPTION_RATE * quantity, finishedAt);
+    completionService.scheduleTrainingCompletion(order);
+    return order;
+  }
+
+  @EventListener
+  @Transactional
+  public void onCompletion(CompletionEvent completion) {
+    if (completion.getType() != CompletionTypeENUM.TRAINING) return;
+    completeFinishedOrders(completion.getKingdomId());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void resumeQueues() {
+    ArrayList<Long> kingdomIds = trainingOrderRepository.findQueuedKingdomIds();
+    for (Long kingdomId : kingdomIds) {
+      completeFinishedOrders(kingdomId);
+    }
+    logger.info("Resumed training queues of {} kingdoms", kingdomIds.size());
+  }
+
+  @Transactional
+  public void completeFinishedOrders(Long kingdomId) {
+    if (!kingdomRepository.lockKingdom(kingdomId).isPresent()) return;
+
+    for (TrainingOrder order : trainingOrderRepository
+        .findTrainingOrdersByKingdom_IdAndFinishedAtLessThanEqualOrderByIdAsc(kingdomId, LocalDateTime.now())) {
+      trainingOrderRepository.delete(order);
+      soldierService.saveTrainedSoldiers(order.getKingdom(), order.getQuantity(), order.getStartedAt(),
+          order.getFinishedAt());
+    }
+  }
+
+  public TrainingQueueDTO createTrainingQueueDTO(Long kingdomId) {
+    List<TrainingOrderDTO> orderDTOList = new ArrayList<>();
+    for (TrainingOrder order : trainingOrderRepository.findTrainingOrdersByKingdom_IdOrderByIdAsc(kingdomId)) {
+      orderDTOList.add(createTrainingOrderDTO(order));
+    }
+    return new TrainingQueueDTO(slots, orderDTOList);
+  }
+
+  public TrainingOrderDTO createTrainingOrderDTO(TrainingOrder order) {
+    return new TrainingOrderDTO(order.getId(), order.getQuantity(), order.getCost(),
+        order.isRunningAt(LocalDateTime.now()), Timestamp.valueOf(order.getEnqueuedAt()),
+        Timestamp.valueOf(order.getFinishedAt()));
+  }
+
+}
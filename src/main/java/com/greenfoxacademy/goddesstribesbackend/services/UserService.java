@@ -5,6 +5,7 @@ import com.greenfoxacademy.goddesstribesbackend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
@@ -45,6 +46,7 @@ public class UserService {
     if (checkUserByName(username)) {
       User loggedInUser = findUserByName(username).get();
       loggedInUser.setLoggedIn(true);
+      loggedInUser.setLastLoginAt(LocalDateTime.now());
       userRepository.save(loggedInUser);
     }
   }
@@ -0,0 +1,61 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class WorldTickService {
+
+  private static final Logger logger = LoggerFactory.getLogger(WorldTickService.class);
+
+  private boolean enabled;
+  private long chunkSize;
+  private long minElapsedSeconds;
+  private ResourceService resourceService;
+  private RateService rateService;
+  private ResourceLedger resourceLedger;
+
+  @Autowired
+  public WorldTickService(@Value("${world.tick.enabled:false}") boolean enabled,
+                          @Value("${world.tick.chunk-size:10000}") long chunkSize,
+                          @Value("${world.tick.min-elapsed-seconds:60}") long minElapsedSeconds,
+                          ResourceService resourceService, RateService rateService, ResourceLedger resourceLedger) {
+    this.enabled = enabled;
+    this.chunkSize = chunkSize;
+    this.minElapsedSeconds = minElapsedSeconds;
+    this.resourceService = resourceService;
+    this.rateService = rateService;
+    this.resourceLedger = resourceLedger;
+  }
+
+  @Scheduled(fixedDelayString = "${world.tick.interval-millis:60000}")
+  public void tick() {
+    if (!enabled) return;
+    if (resourceLedger.isEnabled()) {
+      logger.warn("World tick skipped, resource balances are held by the in-memory ledger");
+      return;
+    }
+
+    long startedAt = System.currentTimeMillis();
+    LocalDateTime now = LocalDateTime.now();
+    long lastResourceId = resourceService.findLastResourceId();
+
+    int advancedResources = 0;
+    for (long fromId = 0; fromId < lastResourceId; fromId += chunkSize) {
+      advancedResources += resourceService.advanceResources(fromId, fromId + chunkSize, now, minElapsedSeconds);
+    }
+    int deletedRateChanges = rateService.deleteConsumedRateChanges(now);
+
+    long elapsedMillis = System.currentTimeMillis() - startedAt;
+    logger.info("World tick advanced {} resources in {} chunks and deleted {} rate changes in {} ms ({} us per resource)",
+        advancedResources, (lastResourceId + chunkSize - 1) / chunkSize, deletedRateChanges, elapsedMillis,
+        advancedResources == 0 ? 0 : elapsedMillis * 1000 / advancedResources);
+  }
+
+}
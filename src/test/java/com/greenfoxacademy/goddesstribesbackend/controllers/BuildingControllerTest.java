@@ -2,8 +2,10 @@ package com.greenfoxacademy.goddesstribesbackend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingBatchDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingTypeDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingUpgradeSummaryDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.dtos.LevelDTO;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.*;
 import com.greenfoxacademy.goddesstribesbackend.security.jwt.JWTUtility;
@@ -22,9 +24,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.Charset;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -157,7 +163,7 @@ public class BuildingControllerTest {
 
     when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
     when(buildingServiceMock.isValidBuildingType(anyString())).thenReturn(true);
-    when(productionServiceMock.isEnoughMoneyToCreateBuilding(anyLong())).thenReturn(false);
+    when(productionServiceMock.purchaseBuilding(any(), anyString())).thenReturn(null);
 
     mockMvc.perform(post("/kingdom/buildings")
         .header("Authorization", "Bearer " + jwtToken)
@@ -190,8 +196,7 @@ public class BuildingControllerTest {
 
     when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
     when(buildingServiceMock.isValidBuildingType(any())).thenReturn(true);
-    when(productionServiceMock.isEnoughMoneyToCreateBuilding(any())).thenReturn(true);
-    when(buildingServiceMock.createBuilding(any(), any())).thenReturn(building);
+    when(productionServiceMock.purchaseBuilding(any(), any())).thenReturn(building);
     when(buildingServiceMock.createBuildingDTO(any())).thenReturn(buildingDTO);
 
     mockMvc.perform(post("/kingdom/buildings")
@@ -359,7 +364,7 @@ public class BuildingControllerTest {
     when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
     when(buildingServiceMock.findBuildingByKingdomAndBuildingId(anyLong(), anyLong())).thenReturn(buildingToUpgrade);
     when(buildingServiceMock.isValidLevel(anyInt(), anyInt(), anyLong(), any())).thenReturn(true);
-    when(productionServiceMock.isEnoughMoneyToUpgradeBuilding(anyLong(), anyLong())).thenReturn(false);
+    when(productionServiceMock.purchaseBuildingUpgrade(any(), any(), anyInt())).thenReturn(null);
 
     mockMvc.perform(put("/kingdom/buildings/{id}", 1L)
         .header("Authorization", "Bearer " + jwtToken)
@@ -379,7 +384,6 @@ public class BuildingControllerTest {
     Building buildingToUpgrade = new Mine(kingdom);
     int id = 2;
     ProductionBuilding upgradedProductionBuilding = new Mine(kingdom);
-    Townhall upgradedTownhall = new Townhall(kingdom);
     BuildingTypeENUM type = BuildingTypeENUM.MINE;
     int level = levelDTO.getLevel();
     Timestamp startedAt = Timestamp.valueOf(upgradedProductionBuilding.getStartedAt());
@@ -394,10 +398,7 @@ public class BuildingControllerTest {
     when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
     when(buildingServiceMock.findBuildingByKingdomAndBuildingId(anyLong(), anyLong())).thenReturn(buildingToUpgrade);
     when(buildingServiceMock.isValidLevel(anyInt(), anyInt(), anyLong(), any())).thenReturn(true);
-    when(productionServiceMock.isEnoughMoneyToUpgradeBuilding(anyLong(), anyLong())).thenReturn(true);
-    when(buildingServiceMock.upgradeTownhall(anyLong(), anyLong(), anyInt())).thenReturn(upgradedTownhall);
-    when(buildingServiceMock.upgradeProductionBuilding(anyLong(), anyLong(), anyInt())).thenReturn(upgradedProductionBuilding);
-    when(buildingServiceMock.upgradeBuilding(anyLong(), anyLong(), anyInt())).thenReturn(upgradedProductionBuilding);
+    when(productionServiceMock.purchaseBuildingUpgrade(any(), any(), anyInt())).thenReturn(upgradedProductionBuilding);
     when(buildingServiceMock.createBuildingDTO(any())).thenReturn(buildingDTO);
 
     mockMvc.perform(put("/kingdom/buildings/{id}", (long)id)
@@ -436,10 +437,7 @@ public class BuildingControllerTest {
     when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
     when(buildingServiceMock.findBuildingByKingdomAndBuildingId(anyLong(), anyLong())).thenReturn(buildingToUpgrade);
     when(buildingServiceMock.isValidLevel(anyInt(), anyInt(), anyLong(), any())).thenReturn(true);
-    when(productionServiceMock.isEnoughMoneyToUpgradeBuilding(anyLong(), anyLong())).thenReturn(true);
-    when(buildingServiceMock.upgradeTownhall(anyLong(), anyLong(), anyInt())).thenReturn(upgradedTownhall);
-    when(buildingServiceMock.upgradeProductionBuilding(anyLong(), anyLong(), anyInt())).thenReturn(upgradedProductionBuilding);
-    when(buildingServiceMock.upgradeBuilding(anyLong(), anyLong(), anyInt())).thenReturn(upgradedProductionBuilding);
+    when(productionServiceMock.purchaseBuildingUpgrade(any(), any(), anyInt())).thenReturn(upgradedTownhall);
     when(buildingServiceMock.createBuildingDTO(any())).thenReturn(buildingDTO);
 
     mockMvc.perform(put("/kingdom/buildings/{id}", (long)id)
@@ -455,4 +453,96 @@ public class BuildingControllerTest {
         .andExpect(jsonPath("$.finishedAt", is(finishedAt.getTime())));
   }
 
+  @Test
+  public void createBuildingsShouldReturnError_when_typesAreMissing() throws Exception {
+    String buildingBatchDTOJson = objectMapper.writeValueAsString(new BuildingBatchDTO());
+    String expectedErrorMessage = "Missing parameter(s): types!";
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+
+    mockMvc.perform(post("/kingdom/buildings/batch")
+        .header("Authorization", "Bearer " + jwtToken)
+        .contentType(contentType)
+        .content(buildingBatchDTOJson))
+        .andExpect(status().is(400))
+        .andExpect(content().contentType(contentType))
+        .andExpect(jsonPath("$.status", is("error")))
+        .andExpect(jsonPath("$.message", is(expectedErrorMessage)))
+        .andDo(print());
+  }
+
+  @Test
+  public void createBuildingsShouldReturnError_when_batchCannotBePurchased() throws Exception {
+    BuildingBatchDTO buildingBatchDTO = new BuildingBatchDTO();
+    buildingBatchDTO.setTypes(Arrays.asList("farm", "mine", "barrack"));
+    String buildingBatchDTOJson = objectMapper.writeValueAsString(buildingBatchDTO);
+    String expectedErrorMessage = "Not enough resource";
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+    when(buildingServiceMock.isValidNewBuildingType(anyString())).thenReturn(true);
+    when(productionServiceMock.purchaseBuildings(kingdom, buildingBatchDTO.getTypes())).thenReturn(null);
+
+    mockMvc.perform(post("/kingdom/buildings/batch")
+        .header("Authorization", "Bearer " + jwtToken)
+        .contentType(contentType)
+        .content(buildingBatchDTOJson))
+        .andExpect(status().is(409))
+        .andExpect(jsonPath("$.message", is(expectedErrorMessage)))
+        .andDo(print());
+
+    verify(productionServiceMock).purchaseBuildings(kingdom, buildingBatchDTO.getTypes());
+    verify(buildingServiceMock, never()).createBuildings(any(), any());
+  }
+
+  @Test
+  public void upgradeBuildingsOfTypeShouldReturnError_when_typeIsTownhall() throws Exception {
+    String expectedErrorMessage = "Invalid building type";
+
+    when(buildingServiceMock.isValidNewBuildingType("townhall")).thenReturn(false);
+
+    mockMvc.perform(put("/kingdom/buildings")
+        .header("Authorization", "Bearer " + jwtToken)
+        .param("type", "townhall")
+        .param("level", "2"))
+        .andExpect(status().is(406))
+        .andExpect(jsonPath("$.message", is(expectedErrorMessage)))
+        .andDo(print());
+  }
+
+  @Test
+  public void upgradeBuildingsOfTypeShouldReturnSummary_when_upgradesArePurchased() throws Exception {
+    ArrayList<Long> buildingIds = new ArrayList<>(Arrays.asList(4L, 5L, 6L));
+    BuildingUpgradeSummaryDTO summary = new BuildingUpgradeSummaryDTO(BuildingTypeENUM.FARM, 2, 2, 200,
+        Timestamp.valueOf("2019-05-01 12:00:00"));
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+    when(buildingServiceMock.isValidNewBuildingType("farm")).thenReturn(true);
+    when(buildingServiceMock.isValidLevel(anyInt(), anyInt(), anyLong(), any())).thenReturn(true);
+    when(buildingServiceMock.findUpgradableBuildingIds(kingdom.getId(), BuildingTypeENUM.FARM, 2)).thenReturn(buildingIds);
+    when(productionServiceMock.purchaseBuildingUpgrades(kingdom, BuildingTypeENUM.FARM, 2, buildingIds)).thenReturn(summary);
+
+    mockMvc.perform(put("/kingdom/buildings")
+        .header("Authorization", "Bearer " + jwtToken)
+        .param("type", "farm")
+        .param("level", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.upgraded", is(2)))
+        .andExpect(jsonPath("$.cost", is(200)))
+        .andDo(print());
+
+    verify(productionServiceMock).purchaseBuildingUpgrades(kingdom, BuildingTypeENUM.FARM, 2, buildingIds);
+  }
+
+  @Test
+  public void upgradeBuildingsOfTypeShouldReturnError_when_levelParameterIsMissing() throws Exception {
+    String expectedErrorMessage = "Missing parameter(s): type, level!";
+
+    mockMvc.perform(put("/kingdom/buildings")
+        .header("Authorization", "Bearer " + jwtToken)
+        .param("type", "farm"))
+        .andExpect(status().is(400))
+        .andExpect(jsonPath("$.message", is(expectedErrorMessage)))
+        .andDo(print());
+  }
+
 }
@@ -0,0 +1,132 @@
+package com.greenfoxacademy.goddesstribesbackend.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.SoldierUpgradeRequestDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.security.jwt.JWTUtility;
+import com.greenfoxacademy.goddesstribesbackend.services.KingdomService;
+import com.greenfoxacademy.goddesstribesbackend.services.ProductionService;
+import com.greenfoxacademy.goddesstribesbackend.services.SoldierService;
+import com.greenfoxacademy.goddesstribesbackend.services.TrainingService;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(SoldierController.class)
+public class SoldierControllerTest {
+
+  private static String jwtToken;
+  private static Kingdom kingdom;
+  private static MediaType contentType;
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @MockBean
+  private KingdomService kingdomServiceMock;
+  @MockBean
+  private ProductionService productionServiceMock;
+  @MockBean
+  private SoldierService soldierServiceMock;
+  @MockBean
+  private TrainingService trainingServiceMock;
+
+  @BeforeClass
+  public static void init() {
+    String username = "Juliska";
+    jwtToken = JWTUtility.generateToken(username);
+    kingdom = new Kingdom(username + "s kingdom", new User(username, "jancsi123"));
+    kingdom.setId(1L);
+    contentType = new MediaType(MediaType.APPLICATION_JSON.getType(),
+        MediaType.APPLICATION_JSON.getSubtype(),
+        Charset.forName("utf8"));
+  }
+
+  @Test
+  public void upgradeSoldiersShouldReturnError_when_stackIsSmallerThanQuantity() throws Exception {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier stack = new Soldier(kingdom, 40, finishedAt, finishedAt);
+    String requestJson = objectMapper.writeValueAsString(new SoldierUpgradeRequestDTO(1, 2, 50));
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+    when(soldierServiceMock.findIdleStack(1L, 1)).thenReturn(stack);
+
+    mockMvc.perform(put("/kingdom/soldiers")
+        .header("Authorization", "Bearer " + jwtToken)
+        .contentType(contentType)
+        .content(requestJson))
+        .andExpect(status().is(404))
+        .andExpect(jsonPath("$.message", is("Not enough soldiers on this level!")))
+        .andDo(print());
+
+    verify(soldierServiceMock, never()).purchaseSoldierUpgrade(any(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void upgradeSoldiersShouldReturnNotFound_when_stackShrankBeforeUpgrade() throws Exception {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier stack = new Soldier(kingdom, 500, finishedAt, finishedAt);
+    Soldier shrunkStack = new Soldier(kingdom, 200, finishedAt, finishedAt);
+    String requestJson = objectMapper.writeValueAsString(new SoldierUpgradeRequestDTO(1, 2, 300));
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+    when(soldierServiceMock.findIdleStack(1L, 1)).thenReturn(stack, shrunkStack);
+    when(soldierServiceMock.isValidLevel(stack, 2)).thenReturn(true);
+    when(soldierServiceMock.purchaseSoldierUpgrade(stack, 2, 300)).thenReturn(null);
+
+    mockMvc.perform(put("/kingdom/soldiers")
+        .header("Authorization", "Bearer " + jwtToken)
+        .contentType(contentType)
+        .content(requestJson))
+        .andExpect(status().is(404))
+        .andExpect(jsonPath("$.message", is("Not enough soldiers on this level!")))
+        .andDo(print());
+
+    verify(productionServiceMock).updateResources(1L);
+  }
+
+  @Test
+  public void upgradeSoldiersShouldReturnError_when_goldCannotBeDebited() throws Exception {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier stack = new Soldier(kingdom, 500, finishedAt, finishedAt);
+    String requestJson = objectMapper.writeValueAsString(new SoldierUpgradeRequestDTO(1, 2, 300));
+
+    when(kingdomServiceMock.findKingdomByUsername(any())).thenReturn(kingdom);
+    when(soldierServiceMock.findIdleStack(1L, 1)).thenReturn(stack);
+    when(soldierServiceMock.isValidLevel(stack, 2)).thenReturn(true);
+    when(soldierServiceMock.purchaseSoldierUpgrade(stack, 2, 300)).thenReturn(null);
+
+    mockMvc.perform(put("/kingdom/soldiers")
+        .header("Authorization", "Bearer " + jwtToken)
+        .contentType(contentType)
+        .content(requestJson))
+        .andExpect(status().is(409))
+        .andExpect(jsonPath("$.message", is("Not enough resource!")))
+        .andDo(print());
+  }
+
+}
@@ -349,7 +349,6 @@ public class UserControllerTest {
 
     when(userServiceMock.checkUserByNameAndPassword(any(), any())).thenReturn(true);
     userServiceMock.loginUser(any());
-    kingdomServiceMock.initKingdom(any());
 
     mockMvc.perform(post("/login")
             .contentType(contentType)
@@ -0,0 +1,59 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BuildingCatalogTest {
+
+  @Test
+  public void fromPropertiesShouldPrecomputeLinearCurves_when_onlyPerLevelValuesAreGiven() {
+    Properties definition = new Properties();
+    definition.setProperty("farm.max-level", "120");
+    definition.setProperty("farm.creation-cost", "250");
+    definition.setProperty("farm.creation-seconds", "120");
+    definition.setProperty("farm.upgrade-cost-per-level", "100");
+    definition.setProperty("farm.upgrade-seconds", "60");
+    definition.setProperty("farm.upgrade-seconds-growth", "30");
+    definition.setProperty("farm.production-rate-per-level", "10");
+
+    BuildingCatalog catalog = BuildingCatalog.fromProperties(definition);
+
+    assertEquals(120, catalog.getMaxLevel(BuildingTypeENUM.FARM));
+    assertTrue(catalog.hasLevel(BuildingTypeENUM.FARM, 120));
+    assertFalse(catalog.hasLevel(BuildingTypeENUM.FARM, 121));
+    assertEquals(250, catalog.getCost(BuildingTypeENUM.FARM, 1));
+    assertEquals(11900, catalog.getCost(BuildingTypeENUM.FARM, 120));
+    assertEquals(120, catalog.getDurationSeconds(BuildingTypeENUM.FARM, 1));
+    assertEquals(60 + 30 * 98, catalog.getDurationSeconds(BuildingTypeENUM.FARM, 100));
+    assertEquals(1200, catalog.getProductionRate(BuildingTypeENUM.FARM, 120));
+  }
+
+  @Test
+  public void fromPropertiesShouldUseOverride_when_levelIsListedExplicitly() {
+    Properties definition = new Properties();
+    definition.setProperty("townhall.max-level", "3");
+    definition.setProperty("townhall.food-capacity-per-level", "1000");
+    definition.setProperty("townhall.food-capacity.3", "5000");
+    definition.setProperty("townhall.cost.2", "700");
+
+    BuildingCatalog catalog = BuildingCatalog.fromProperties(definition);
+
+    assertEquals(2000, catalog.getCapacity(BuildingTypeENUM.TOWNHALL, ResourceTypeENUM.FOOD, 2));
+    assertEquals(5000, catalog.getCapacity(BuildingTypeENUM.TOWNHALL, ResourceTypeENUM.FOOD, 3));
+    assertEquals(700, catalog.getCost(BuildingTypeENUM.TOWNHALL, 2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromPropertiesShouldThrow_when_valueIsNotANumber() {
+    Properties definition = new Properties();
+    definition.setProperty("mine.upgrade-cost-per-level", "a lot");
+
+    BuildingCatalog.fromProperties(definition);
+  }
+
+}
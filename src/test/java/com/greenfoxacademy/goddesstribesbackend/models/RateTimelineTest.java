@@ -0,0 +1,85 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.RateChange;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RateTimelineTest {
+
+  private static Kingdom kingdom;
+  private static LocalDateTime start;
+  private static RateTimeline rateTimeline;
+
+  @BeforeClass
+  public static void init() {
+    kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    start = LocalDateTime.of(2019, 5, 1, 12, 0);
+
+    Map<ResourceTypeENUM, Integer> targetRates = new EnumMap<>(ResourceTypeENUM.class);
+    targetRates.put(ResourceTypeENUM.FOOD, 15);
+    targetRates.put(ResourceTypeENUM.GOLD, 20);
+
+    rateTimeline = new RateTimeline(targetRates, Arrays.asList(
+        new RateChange(kingdom, ResourceTypeENUM.GOLD, 10, start.plusMinutes(2)),
+        new RateChange(kingdom, ResourceTypeENUM.FOOD, -5, start.plusMinutes(3)),
+        new RateChange(kingdom, ResourceTypeENUM.GOLD, 10, start.plusMinutes(4))));
+  }
+
+  @Test
+  public void rateAtShouldIgnoreChanges_when_changesAreNotYetEffective() {
+    assertEquals(0, rateTimeline.rateAt(ResourceTypeENUM.GOLD, start));
+    assertEquals(10, rateTimeline.rateAt(ResourceTypeENUM.GOLD, start.plusMinutes(2)));
+    assertEquals(20, rateTimeline.rateAt(ResourceTypeENUM.GOLD, start.plusMinutes(5)));
+    assertEquals(20, rateTimeline.rateAt(ResourceTypeENUM.FOOD, start));
+    assertEquals(15, rateTimeline.rateAt(ResourceTypeENUM.FOOD, start.plusMinutes(3)));
+  }
+
+  @Test
+  public void accrueShouldIntegrateEachSegment_when_changesFallIntoInterval() {
+    int gold = rateTimeline.accrue(ResourceTypeENUM.GOLD, 100, 1000, start, start.plusMinutes(6));
+    int food = rateTimeline.accrue(ResourceTypeENUM.FOOD, 100, 1000, start, start.plusMinutes(6));
+
+    assertEquals(100 + 0 * 2 + 10 * 2 + 20 * 2, gold);
+    assertEquals(100 + 20 * 3 + 15 * 3, food);
+  }
+
+  @Test
+  public void accrueShouldNotDependOnPollingFrequency_when_intervalIsSplit() {
+    LocalDateTime middle = start.plusMinutes(3);
+    int goldAtMiddle = rateTimeline.accrue(ResourceTypeENUM.GOLD, 100, 1000, start, middle);
+    int goldAtEnd = rateTimeline.accrue(ResourceTypeENUM.GOLD, goldAtMiddle, 1000, middle, start.plusMinutes(6));
+
+    assertEquals(rateTimeline.accrue(ResourceTypeENUM.GOLD, 100, 1000, start, start.plusMinutes(6)), goldAtEnd);
+  }
+
+  @Test
+  public void accrueShouldStopAtCapacity_when_capacityIsReached() {
+    assertEquals(150, rateTimeline.accrue(ResourceTypeENUM.GOLD, 100, 150, start, start.plusMinutes(6)));
+  }
+
+  @Test
+  public void findDepletionTimeShouldReturnExactTime_when_rateTurnsNegative() {
+    Map<ResourceTypeENUM, Integer> targetRates = new EnumMap<>(ResourceTypeENUM.class);
+    targetRates.put(ResourceTypeENUM.FOOD, -5);
+    RateTimeline starvingTimeline = new RateTimeline(targetRates, Arrays.asList(
+        new RateChange(kingdom, ResourceTypeENUM.FOOD, -10, start.plusMinutes(2))));
+
+    assertEquals(start.plusMinutes(6), starvingTimeline.findDepletionTime(ResourceTypeENUM.FOOD, 10, 1000, start));
+  }
+
+  @Test
+  public void findDepletionTimeShouldReturnNull_when_rateStaysPositive() {
+    assertNull(rateTimeline.findDepletionTime(ResourceTypeENUM.FOOD, 10, 1000, start));
+  }
+
+}
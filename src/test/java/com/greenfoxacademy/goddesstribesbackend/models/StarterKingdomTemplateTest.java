@@ -0,0 +1,41 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StarterKingdomTemplateTest {
+
+  private StarterKingdomTemplate template = new StarterKingdomTemplate(BuildingCatalog.fromProperties(createDefinition()));
+
+  @Test
+  public void amountAtShouldAccrueStarterProduction_when_kingdomIsStillVirtual() {
+    LocalDateTime foundedAt = LocalDateTime.of(2019, 5, 1, 12, 0);
+
+    assertEquals(50, template.amountAt(ResourceTypeENUM.FOOD, foundedAt, foundedAt));
+    assertEquals(150, template.amountAt(ResourceTypeENUM.FOOD, foundedAt, foundedAt.plusMinutes(10)));
+    assertEquals(1000, template.amountAt(ResourceTypeENUM.GOLD, foundedAt, foundedAt.plusDays(1)));
+  }
+
+  @Test
+  public void findBuildingTypeShouldResolveVirtualId_when_idBelongsToStarterBuilding() {
+    for (BuildingTypeENUM type : template.getBuildingTypes()) {
+      assertEquals(type, template.findBuildingType(template.findVirtualBuildingId(type)));
+    }
+    assertNull(template.findBuildingType(-4L));
+  }
+
+  private static Properties createDefinition() {
+    Properties definition = new Properties();
+    definition.setProperty("townhall.food-capacity-per-level", "1000");
+    definition.setProperty("townhall.gold-capacity-per-level", "1000");
+    definition.setProperty("farm.production-rate-per-level", "10");
+    definition.setProperty("mine.production-rate-per-level", "10");
+    return definition;
+  }
+
+}
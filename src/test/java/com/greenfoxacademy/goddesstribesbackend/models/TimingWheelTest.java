@@ -0,0 +1,67 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+  @Test
+  public void advanceClockShouldFireTimerOnce_when_expirationHasPassed() {
+    TimingWheel<String> timingWheel = new TimingWheel<>(10, 8, 0);
+    timingWheel.schedule("farm", 35);
+
+    assertEquals(Collections.emptyList(), timingWheel.advanceClock(30));
+    assertEquals(Collections.singletonList("farm"), timingWheel.advanceClock(40));
+    assertEquals(Collections.emptyList(), timingWheel.advanceClock(1000));
+  }
+
+  @Test
+  public void advanceClockShouldCascadeTimers_when_expirationIsBeyondLowestWheel() {
+    TimingWheel<String> timingWheel = new TimingWheel<>(10, 4, 0);
+    timingWheel.schedule("townhall", 1234);
+    timingWheel.schedule("mine", 95);
+
+    assertEquals(Collections.singletonList("mine"), timingWheel.advanceClock(100));
+    assertEquals(Collections.emptyList(), timingWheel.advanceClock(1230));
+    assertEquals(Collections.singletonList("townhall"), timingWheel.advanceClock(1240));
+    assertEquals(0, timingWheel.size());
+  }
+
+  @Test
+  public void cancelShouldRemoveTimer_when_timerIsPending() {
+    TimingWheel<String> timingWheel = new TimingWheel<>(10, 8, 0);
+    TimingWheel.Timer<String> barrack = timingWheel.schedule("barrack", 50);
+    timingWheel.schedule("farm", 60);
+
+    assertTrue(timingWheel.cancel(barrack));
+    assertFalse(timingWheel.cancel(barrack));
+    assertEquals(Collections.singletonList("farm"), timingWheel.advanceClock(100));
+  }
+
+  @Test
+  public void advanceClockShouldFireAllTimers_when_manyTimersAreQueued() {
+    TimingWheel<Integer> timingWheel = new TimingWheel<>(10, 16, 0);
+    for (int i = 0; i < 10000; i++) {
+      timingWheel.schedule(i, i * 7L);
+    }
+
+    List<Integer> fired = new ArrayList<>();
+    for (long now = 0; now <= 80000; now += 1000) {
+      fired.addAll(timingWheel.advanceClock(now));
+    }
+    Collections.sort(fired);
+
+    assertEquals(10000, fired.size());
+    assertEquals(Arrays.asList(0, 1, 2), fired.subList(0, 3));
+    assertEquals(0, timingWheel.size());
+  }
+
+}
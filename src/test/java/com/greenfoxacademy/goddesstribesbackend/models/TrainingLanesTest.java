@@ -0,0 +1,38 @@
+package com.greenfoxacademy.goddesstribesbackend.models;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrainingLanesTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2019, 5, 1, 12, 0);
+
+  @Test
+  public void calculateFinishedAtShouldSplitWorkAcrossLanes_when_severalBarracksAreAvailable() {
+    TrainingLanes trainingLanes = new TrainingLanes();
+    trainingLanes.addLane(START, 2);
+    trainingLanes.addLane(START.minusDays(1), 1);
+
+    assertEquals(3, trainingLanes.getTotalRate());
+    assertEquals(START.plusMinutes(100), trainingLanes.calculateFinishedAt(START, 300, 60));
+  }
+
+  @Test
+  public void calculateFinishedAtShouldUseLaneFromItsAvailability_when_barrackIsStillUnderConstruction() {
+    TrainingLanes trainingLanes = new TrainingLanes();
+    trainingLanes.addLane(START, 1);
+    trainingLanes.addLane(START.plusMinutes(10), 1);
+
+    assertEquals(START.plusMinutes(5), trainingLanes.calculateFinishedAt(START, 5, 60));
+    assertEquals(START.plusMinutes(15), trainingLanes.calculateFinishedAt(START, 20, 60));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void calculateFinishedAtShouldThrow_when_noLaneIsAvailable() {
+    new TrainingLanes().calculateFinishedAt(START, 1, 60);
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Farm;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BuildingRepositoryTest {
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private KingdomRepository kingdomRepository;
+  @Autowired
+  private BuildingRepository buildingRepository;
+  @Autowired
+  private TownhallRepository townhallRepository;
+  @Autowired
+  private ProductionBuildingRepository productionBuildingRepository;
+
+  @Test
+  public void upgradeTownhallShouldNotStackUpgrades_when_townhallIsStillUpgrading() {
+    LocalDateTime now = LocalDateTime.now();
+    Kingdom kingdom = kingdomRepository.save(new Kingdom("Tündérország", userRepository.save(new User("Juliska", "jancsi123"))));
+    Long townhallId = buildingRepository.save(new Townhall(kingdom, now.minusHours(1))).getId();
+
+    assertEquals(1, townhallRepository.upgradeTownhall(townhallId, 2, 100, now, now.plusMinutes(5), 2000, 2000));
+    assertEquals(0, townhallRepository.upgradeTownhall(townhallId, 3, 200, now, now.plusMinutes(10), 3000, 3000));
+    assertEquals(2, buildingRepository.findById(townhallId).get().getLevel());
+  }
+
+  @Test
+  public void upgradeProductionBuildingShouldFail_when_buildingIsStillConstructing() {
+    LocalDateTime now = LocalDateTime.now();
+    Kingdom kingdom = kingdomRepository.save(new Kingdom("Tündérország", userRepository.save(new User("Jancsi", "juliska123"))));
+    Long farmId = buildingRepository.save(new Farm(kingdom, now)).getId();
+
+    assertEquals(0, productionBuildingRepository.upgradeProductionBuilding(farmId, 2, 100, now, now.plusMinutes(5), 20));
+    assertEquals(1, buildingRepository.findById(farmId).get().getLevel());
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingsDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.*;
+import com.greenfoxacademy.goddesstribesbackend.services.BuildingCatalogService;
+import com.greenfoxacademy.goddesstribesbackend.services.BuildingService;
+import com.greenfoxacademy.goddesstribesbackend.services.CompletionService;
+import com.greenfoxacademy.goddesstribesbackend.services.KingdomSnapshotService;
+import com.greenfoxacademy.goddesstribesbackend.services.RateService;
+import com.greenfoxacademy.goddesstribesbackend.services.StarterKingdomService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({BuildingService.class, RateService.class, CompletionService.class, KingdomSnapshotService.class,
+    BuildingCatalogService.class, StarterKingdomService.class})
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ListingQueryBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ListingQueryBenchmarkTest.class);
+  private static final int BUILDINGS = 1500;
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 50;
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private KingdomRepository kingdomRepository;
+  @Autowired
+  private BuildingRepository buildingRepository;
+  @Autowired
+  private BuildingService buildingService;
+
+  @Test
+  public void buildingListingShouldReturnAllBuildings_when_projectedIntoDTOs() {
+    assumeTrue("Set BENCHMARK=true to run listing benchmarks", System.getenv("BENCHMARK") != null);
+
+    User user = userRepository.save(new User("Benchmark", "benchmark123"));
+    Kingdom kingdom = kingdomRepository.save(new Kingdom("Benchmark kingdom", user));
+    List<Building> buildings = new ArrayList<>();
+    LocalDateTime startedAt = LocalDateTime.now().minusMinutes(Building.CREATION_TIME);
+    for (int i = 0; i < BUILDINGS; i++) {
+      buildings.add(i % 3 == 0 ? new Farm(kingdom, startedAt) : i % 3 == 1 ? new Mine(kingdom, startedAt) : new Barrack(kingdom, startedAt));
+    }
+    buildingRepository.saveAll(buildings);
+
+    Supplier<List<BuildingDTO>> entityPath = () -> {
+      List<BuildingDTO> buildingDTOList = new ArrayList<>();
+      for (Building building : buildingService.findBuildingsByKingdom(kingdom.getId())) {
+        buildingDTOList.add(buildingService.createBuildingDTO(building));
+      }
+      return buildingDTOList;
+    };
+    Supplier<List<BuildingDTO>> projectionPath = () -> {
+      BuildingsDTO buildingsDTO = buildingService.createBuildingsDTO(user.getUsername());
+      return buildingsDTO.getBuildings();
+    };
+
+    assertEquals(BUILDINGS, entityPath.get().size());
+    assertEquals(BUILDINGS, projectionPath.get().size());
+
+    long[] entityResult = measure(entityPath);
+    long[] projectionResult = measure(projectionPath);
+    logger.info("Listing {} buildings, entity path: {} us/op, {} KB/op",
+        BUILDINGS, entityResult[0] / 1000, entityResult[1] / 1024);
+    logger.info("Listing {} buildings, projection path: {} us/op, {} KB/op",
+        BUILDINGS, projectionResult[0] / 1000, projectionResult[1] / 1024);
+    assertTrue("Projection path should not allocate more than the entity path", projectionResult[1] <= entityResult[1]);
+  }
+
+  private long[] measure(Supplier<List<BuildingDTO>> listing) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      listing.get();
+    }
+
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      listing.get();
+    }
+    long elapsed = System.nanoTime() - startedAt;
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    return new long[]{elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS};
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.greenfoxacademy.goddesstribesbackend.repositories;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.*;
+import com.greenfoxacademy.goddesstribesbackend.services.ResourceService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(ResourceService.class)
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ResourceRepositoryTest {
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private KingdomRepository kingdomRepository;
+  @Autowired
+  private BuildingRepository buildingRepository;
+  @Autowired
+  private ResourceRepository resourceRepository;
+  @Autowired
+  private ResourceTransactionRepository resourceTransactionRepository;
+  @Autowired
+  private ResourceService resourceService;
+
+  @Test
+  public void advanceResourcesShouldCarryFraction_when_tickGainIsBelowOneUnit() {
+    LocalDateTime start = LocalDateTime.now().withNano(0).minusMinutes(1);
+    Kingdom kingdom = new Kingdom("Tündérország", userRepository.save(new User("Juliska", "jancsi123")));
+    kingdom.setGoldProductionRate(3);
+    kingdom = kingdomRepository.save(kingdom);
+    Townhall townhall = buildingRepository.save(new Townhall(kingdom, start.minusMinutes(10)));
+    Resource gold = new Resource(ResourceTypeENUM.GOLD, 100, townhall);
+    gold.setUpdateTime(start);
+    Long goldId = resourceRepository.save(gold).getId();
+
+    assertEquals(1, resourceService.advanceResources(0, goldId, start.plusSeconds(10), 0));
+    gold = resourceRepository.findById(goldId).get();
+    assertEquals(100, gold.getAmount());
+    assertEquals(start, gold.getUpdateTime());
+
+    assertEquals(1, resourceService.advanceResources(0, goldId, start.plusSeconds(20), 0));
+    gold = resourceRepository.findById(goldId).get();
+    assertEquals(101, gold.getAmount());
+    assertEquals(start.plusSeconds(20), gold.getUpdateTime());
+  }
+
+  @Test
+  public void creditResourceShouldRefundFullAmount_when_refundExceedsStorageCapacity() {
+    Kingdom kingdom = kingdomRepository.save(new Kingdom("Tündérország", userRepository.save(new User("Juliska", "jancsi123"))));
+    Townhall townhall = buildingRepository.save(new Townhall(kingdom));
+    Long goldId = resourceRepository.save(new Resource(ResourceTypeENUM.GOLD, 950, townhall)).getId();
+
+    resourceService.creditResource(kingdom.getId(), ResourceTypeENUM.GOLD, 100, TransactionReasonENUM.BUILD_QUEUE_REFUND);
+
+    assertEquals(1050, resourceRepository.findById(goldId).get().getAmount());
+    assertEquals(100, resourceTransactionRepository.sumAmountsAfter(kingdom.getId(), ResourceTypeENUM.GOLD, 0));
+  }
+
+}
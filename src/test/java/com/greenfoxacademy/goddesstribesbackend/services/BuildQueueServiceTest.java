@@ -0,0 +1,104 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.BuildQueueEntry;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Farm;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BuildQueueEntryRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BuildQueueServiceTest {
+
+  private BuildQueueService buildQueueService;
+  private BuildQueueEntryRepository buildQueueEntryRepositoryMock;
+  private KingdomRepository kingdomRepositoryMock;
+  private BuildingService buildingServiceMock;
+  private ProductionService productionServiceMock;
+  private Kingdom kingdom;
+
+  @Before
+  public void init() {
+    buildQueueEntryRepositoryMock = Mockito.mock(BuildQueueEntryRepository.class);
+    kingdomRepositoryMock = Mockito.mock(KingdomRepository.class);
+    buildingServiceMock = Mockito.mock(BuildingService.class);
+    productionServiceMock = Mockito.mock(ProductionService.class);
+    buildQueueService = new BuildQueueService(5, buildQueueEntryRepositoryMock, kingdomRepositoryMock,
+                                              Mockito.mock(KingdomSnapshotService.class), buildingServiceMock,
+                                              productionServiceMock);
+    kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    kingdom.setId(1L);
+    when(kingdomRepositoryMock.lockKingdom(1L)).thenReturn(Optional.of(kingdom));
+  }
+
+  @Test
+  public void onCompletionShouldStartNextEntry_when_runningBuildIsFinished() {
+    Farm finishedFarm = new Farm(kingdom, LocalDateTime.now().minusMinutes(5));
+    finishedFarm.setId(10L);
+    Farm newFarm = new Farm(kingdom);
+    newFarm.setId(11L);
+    BuildQueueEntry runningEntry = new BuildQueueEntry(kingdom, BuildingTypeENUM.FARM, 250);
+    runningEntry.setRunning(true);
+    runningEntry.setBuildingId(10L);
+    BuildQueueEntry nextEntry = new BuildQueueEntry(kingdom, BuildingTypeENUM.FARM, 250);
+
+    when(buildQueueEntryRepositoryMock.findFirstByKingdom_IdAndRunningTrue(1L)).thenReturn(Optional.of(runningEntry));
+    when(buildQueueEntryRepositoryMock.findFirstByKingdom_IdAndRunningFalseOrderByIdAsc(1L)).thenReturn(Optional.of(nextEntry));
+    when(buildingServiceMock.findBuildingByKingdomAndBuildingId(1L, 10L)).thenReturn(finishedFarm);
+    when(buildingServiceMock.createBuilding(kingdom, "FARM")).thenReturn(newFarm);
+
+    buildQueueService.onCompletion(new CompletionEvent(CompletionTypeENUM.BUILDING, 10L, 1L, finishedFarm.getFinishedAt()));
+
+    verify(buildQueueEntryRepositoryMock).delete(runningEntry);
+    verify(buildQueueEntryRepositoryMock).save(nextEntry);
+    assertTrue(nextEntry.isRunning());
+    assertEquals(Long.valueOf(11L), nextEntry.getBuildingId());
+    verify(productionServiceMock, never()).creditResource(anyLong(), any(), anyInt(), any());
+  }
+
+  @Test
+  public void onCompletionShouldRefundEntry_when_upgradeCanNoLongerStart() {
+    BuildQueueEntry upgradeEntry = new BuildQueueEntry(kingdom, BuildingTypeENUM.FARM, 12L, 2, 100);
+
+    when(buildQueueEntryRepositoryMock.findFirstByKingdom_IdAndRunningTrue(1L)).thenReturn(Optional.empty());
+    when(buildQueueEntryRepositoryMock.findFirstByKingdom_IdAndRunningFalseOrderByIdAsc(1L))
+        .thenReturn(Optional.of(upgradeEntry), Optional.empty());
+    when(buildingServiceMock.findBuildingByKingdomAndBuildingId(1L, 12L)).thenReturn(null);
+
+    buildQueueService.onCompletion(new CompletionEvent(CompletionTypeENUM.BUILDING, 10L, 1L, LocalDateTime.now()));
+
+    verify(buildQueueEntryRepositoryMock).delete(upgradeEntry);
+    verify(productionServiceMock).creditResource(1L, ResourceTypeENUM.GOLD, 100, TransactionReasonENUM.BUILD_QUEUE_REFUND);
+  }
+
+  @Test
+  public void enqueueBuildingShouldNotChargeGold_when_queueFilledUpConcurrently() {
+    when(buildQueueEntryRepositoryMock.countBuildQueueEntriesByKingdom_Id(1L)).thenReturn(5);
+
+    assertNull(buildQueueService.enqueueBuilding(kingdom, BuildingTypeENUM.FARM, 250));
+    verify(kingdomRepositoryMock).lockKingdom(1L);
+    verify(productionServiceMock, never()).purchase(anyLong(), anyInt(), any(), any());
+    verify(buildQueueEntryRepositoryMock, never()).save(any());
+  }
+
+}
@@ -0,0 +1,44 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BuildingCatalogServiceTest {
+
+  @Test
+  public void reloadShouldKeepCurrentCatalog_when_maxLevelIsLowered() throws IOException {
+    File definition = File.createTempFile("building-catalog", ".properties");
+    definition.deleteOnExit();
+    Files.write(definition.toPath(), "farm.max-level=5\nfarm.upgrade-cost-per-level=100\n".getBytes(StandardCharsets.UTF_8));
+    BuildingCatalogService buildingCatalogService = new BuildingCatalogService(definition.getPath());
+
+    Files.write(definition.toPath(), "farm.max-level=2\nfarm.upgrade-cost-per-level=100\n".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(buildingCatalogService.reload());
+    assertEquals(5, buildingCatalogService.getCatalog().getMaxLevel(BuildingTypeENUM.FARM));
+    assertEquals(400, buildingCatalogService.getCatalog().getCost(BuildingTypeENUM.FARM, 5));
+  }
+
+  @Test
+  public void reloadShouldReplaceCatalog_when_maxLevelIsRaised() throws IOException {
+    File definition = File.createTempFile("building-catalog", ".properties");
+    definition.deleteOnExit();
+    Files.write(definition.toPath(), "farm.max-level=2\n".getBytes(StandardCharsets.UTF_8));
+    BuildingCatalogService buildingCatalogService = new BuildingCatalogService(definition.getPath());
+
+    Files.write(definition.toPath(), "farm.max-level=4\n".getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(buildingCatalogService.reload());
+    assertEquals(4, buildingCatalogService.getCatalog().getMaxLevel(BuildingTypeENUM.FARM));
+  }
+
+}
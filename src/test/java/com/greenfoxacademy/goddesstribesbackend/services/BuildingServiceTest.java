@@ -0,0 +1,88 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingStateENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.*;
+import com.greenfoxacademy.goddesstribesbackend.repositories.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BuildingServiceTest {
+
+  private static BuildingService buildingService;
+
+  private static BuildingRepository buildingRepositoryMock = Mockito.mock(BuildingRepository.class);
+  private static CompletionService completionServiceMock = Mockito.mock(CompletionService.class);
+
+  private static Kingdom kingdom;
+
+  @BeforeClass
+  public static void init() {
+    buildingService = new BuildingService(Mockito.mock(KingdomRepository.class), buildingRepositoryMock,
+        Mockito.mock(FarmRepository.class), Mockito.mock(MineRepository.class), Mockito.mock(TownhallRepository.class),
+        Mockito.mock(ProductionBuildingRepository.class), Mockito.mock(RateService.class),
+        completionServiceMock, Mockito.mock(KingdomSnapshotService.class),
+        new BuildingCatalogService(""), Mockito.mock(StarterKingdomService.class));
+    kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+  }
+
+  @Test
+  public void createBuildingDTOShouldShowPreviousLevel_when_buildingIsUpgrading() {
+    Farm farm = new Farm(kingdom, LocalDateTime.now().minusMinutes(10));
+    farm.setLevel(2);
+    farm.setState(BuildingStateENUM.UPGRADING);
+
+    assertEquals(1, buildingService.createBuildingDTO(farm).getLevel());
+  }
+
+  @Test
+  public void createBuildingDTOShouldShowLevel_when_buildingIsIdle() {
+    Farm farm = new Farm(kingdom, LocalDateTime.now().minusMinutes(10));
+
+    assertEquals(BuildingStateENUM.IDLE, farm.getState());
+    assertEquals(1, buildingService.createBuildingDTO(farm).getLevel());
+  }
+
+  @Test
+  public void onCompletionShouldOnlyCompleteBuildings_when_completionIsPublished() {
+    buildingService.onCompletion(new CompletionEvent(CompletionTypeENUM.SOLDIER, 7L, 1L, LocalDateTime.now()));
+    verify(buildingRepositoryMock, never()).completeBuilding(eq(7L), any());
+
+    buildingService.onCompletion(new CompletionEvent(CompletionTypeENUM.BUILDING, 8L, 1L, LocalDateTime.now()));
+    verify(buildingRepositoryMock).completeBuilding(eq(8L), any());
+  }
+
+  @Test
+  public void upgradeBuildingShouldNotScheduleCompletion_when_levelChangedConcurrently() {
+    Barrack barrack = new Barrack(kingdom, LocalDateTime.now().minusMinutes(10));
+    barrack.setId(5L);
+
+    when(buildingRepositoryMock.findBuildingByKingdom_IdAndId(1L, 5L)).thenReturn(Optional.of(barrack));
+    when(buildingRepositoryMock.upgradeBuilding(eq(5L), eq(2), anyInt(), any(), any())).thenReturn(0);
+
+    assertNull(buildingService.upgradeBuilding(1L, 5L, 2));
+    verify(completionServiceMock, never()).scheduleBuildingCompletion(barrack);
+  }
+
+  @Test
+  public void isValidLevelShouldReturnFalse_when_kingdomIsNotMaterialized() {
+    assertFalse(buildingService.isValidLevel(2, 1, 99L, BuildingTypeENUM.FARM));
+  }
+
+}
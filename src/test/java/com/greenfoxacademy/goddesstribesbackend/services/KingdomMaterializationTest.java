@@ -0,0 +1,53 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TownhallRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.UserRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+public class KingdomMaterializationTest {
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private KingdomRepository kingdomRepository;
+  @Autowired
+  private TownhallRepository townhallRepository;
+  @Autowired
+  private ResourceRepository resourceRepository;
+  @Autowired
+  private KingdomService kingdomService;
+
+  @Test
+  public void materializeKingdomShouldActivateKingdom_when_kingdomIsSavedAfterwards() {
+    Kingdom kingdom = kingdomRepository.save(new Kingdom("Tündérország", userRepository.save(new User("Juliska", "jancsi123"))));
+
+    kingdomService.materializeKingdom(kingdom);
+    kingdom.setKingdomName("Óperenciás");
+    kingdomRepository.save(kingdom);
+
+    Kingdom materializedKingdom = kingdomRepository.findById(kingdom.getId()).get();
+    assertTrue(materializedKingdom.isActive());
+    assertTrue(materializedKingdom.getFoodProductionRate() > 0);
+    assertTrue(materializedKingdom.getGoldProductionRate() > 0);
+    assertEquals("Óperenciás", materializedKingdom.getKingdomName());
+    assertEquals(1, townhallRepository.findTownhallsByKingdom_Id(kingdom.getId()).size());
+    assertEquals(2, resourceRepository.findResourcesByTownhall_Kingdom_Id(kingdom.getId()).size());
+  }
+
+}
@@ -1,5 +1,8 @@
 package com.greenfoxacademy.goddesstribesbackend.services;
 
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomRates;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.StarterKingdomTemplate;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
 import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
@@ -11,9 +14,13 @@ import org.mockito.Mockito;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,12 +35,15 @@ public class KingdomServiceTest {
   private static ResourceService resourceServiceMock = Mockito.mock(ResourceService.class);
   private static SoldierService soldierServiceMock = Mockito.mock(SoldierService.class);
   private static ProductionService productionServiceMock = Mockito.mock(ProductionService.class);
+  private static StarterKingdomService starterKingdomServiceMock = Mockito.mock(StarterKingdomService.class);
 
   @BeforeClass
   public static void init() {
     kingdomService = new KingdomService(kingdomRepositoryMock, userServiceMock,
                                         buildingServiceMock, resourceServiceMock,
-                                        soldierServiceMock, productionServiceMock);
+                                        soldierServiceMock, productionServiceMock, starterKingdomServiceMock);
+    when(starterKingdomServiceMock.getTemplate())
+        .thenReturn(new StarterKingdomTemplate(new BuildingCatalogService("").getCatalog()));
   }
 
   @Test
@@ -138,56 +148,51 @@ public class KingdomServiceTest {
   }
 
   @Test
-  public void kingdomShouldBeInitialized_when_initKingdomIsCalled_when_KingdomIsInactive() {
-    String username = "Julcsi";
-    String password = "jancsi123";
-    String kingdomName = "Tündérország";
-    User user = new User(username, password);
-    Kingdom kingdom = new Kingdom(kingdomName, user);
-    Optional<Kingdom> kingdomOptional = Optional.of(kingdom);
+  public void kingdomShouldBeMaterialized_when_materializeKingdomIsCalled_when_KingdomIsVirtual() {
+    User user = new User("Julcsi", "jancsi123");
+    Kingdom kingdom = new Kingdom("Tündérország", user);
     Townhall townhall = new Townhall(kingdom);
 
-    when(userServiceMock.checkUserByName(any())).thenReturn(true);
-    when(kingdomRepositoryMock.findKingdomByUser_Username(any())).thenReturn(kingdomOptional);
-    when(buildingServiceMock.saveTownhall(any())).thenReturn(townhall);
-
-    kingdomService.initKingdom(username);
-
-    verify(userServiceMock, times(1)).checkUserByName(username);
-    verify(kingdomRepositoryMock, times(1)).findKingdomByUser_Username(username);
-    verify(buildingServiceMock, times(1)).saveTownhall(kingdom);
-    verify(resourceServiceMock, times(1)).saveFoodAtStart(townhall);
-    verify(resourceServiceMock, times(1)).saveGoldAtStart(townhall);
-    verify(buildingServiceMock, times(1)).saveFarmAtStart(kingdom);
-    verify(buildingServiceMock, times(1)).saveMineAtStart(kingdom);
-    verify(kingdomRepositoryMock, times(1)).save(kingdom);
-  }
+    when(kingdomRepositoryMock.activateKingdom(any())).thenReturn(1);
+    when(kingdomRepositoryMock.findKingdomRates(any())).thenReturn(Optional.of(new KingdomRates(10, 10, 0)));
+    when(buildingServiceMock.saveTownhall(eq(kingdom), any())).thenReturn(townhall);
 
+    kingdomService.materializeKingdom(kingdom);
+
+    verify(buildingServiceMock, times(1)).saveTownhall(kingdom, kingdom.getFoundedAt());
+    verify(resourceServiceMock, times(1)).saveResourceAtStart(eq(townhall), eq(ResourceTypeENUM.FOOD), anyInt());
+    verify(resourceServiceMock, times(1)).saveResourceAtStart(eq(townhall), eq(ResourceTypeENUM.GOLD), anyInt());
+    verify(buildingServiceMock, times(1)).saveFarmAtStart(kingdom, kingdom.getFoundedAt());
+    verify(buildingServiceMock, times(1)).saveMineAtStart(kingdom, kingdom.getFoundedAt());
+    assertTrue(kingdom.isActive());
+    assertEquals(10, kingdom.getFoodProductionRate());
+  }
 
   @Test
-  public void kingdomShouldNotBeInitialized_when_initKingdomIsCalled_when_KingdomIsActive() {
-    String username = "Julcsika";
-    String password = "jancsi123";
-    String kingdomName = "Tündérország";
-    User user = new User(username, password);
-    Kingdom kingdom = new Kingdom(kingdomName, user);
+  public void kingdomShouldNotBeMaterialized_when_materializeKingdomIsCalled_when_KingdomIsActive() {
+    User user = new User("Julcsika", "jancsi123");
+    Kingdom kingdom = new Kingdom("Tündérország", user);
     kingdom.setActive(true);
-    Optional<Kingdom> kingdomOptional = Optional.of(kingdom);
-    Townhall townhall = new Townhall(kingdom);
 
-    when(userServiceMock.checkUserByName(any())).thenReturn(true);
-    when(kingdomRepositoryMock.findKingdomByUser_Username(any())).thenReturn(kingdomOptional);
-
-    kingdomService.initKingdom(username);
-
-    verify(userServiceMock, times(1)).checkUserByName(username);
-    verify(kingdomRepositoryMock, times(1)).findKingdomByUser_Username(username);
-    verify(buildingServiceMock, times(0)).saveTownhall(kingdom);
-    verify(resourceServiceMock, times(0)).saveFoodAtStart(townhall);
-    verify(resourceServiceMock, times(0)).saveGoldAtStart(townhall);
-    verify(buildingServiceMock, times(0)).saveFarmAtStart(kingdom);
-    verify(buildingServiceMock, times(0)).saveMineAtStart(kingdom);
-    verify(kingdomRepositoryMock, times(0)).save(kingdom);
+    kingdomService.materializeKingdom(kingdom);
+
+    verify(buildingServiceMock, times(0)).saveTownhall(eq(kingdom), any());
+    verify(buildingServiceMock, times(0)).saveFarmAtStart(eq(kingdom), any());
+    verify(buildingServiceMock, times(0)).saveMineAtStart(eq(kingdom), any());
+  }
+
+  @Test
+  public void kingdomShouldNotBeMaterializedTwice_when_anotherRequestActivatedItFirst() {
+    User user = new User("Jancsi", "juliska123");
+    Kingdom kingdom = new Kingdom("Mézeskalácsház", user);
+    kingdom.setId(42L);
+
+    when(kingdomRepositoryMock.activateKingdom(42L)).thenReturn(0);
+
+    kingdomService.materializeKingdom(kingdom);
+
+    verify(buildingServiceMock, times(0)).saveTownhall(eq(kingdom), any());
+    assertFalse(kingdom.isActive());
   }
 
 }
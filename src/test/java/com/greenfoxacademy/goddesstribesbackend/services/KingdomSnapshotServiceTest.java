@@ -0,0 +1,87 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomSnapshot;
+import com.greenfoxacademy.goddesstribesbackend.models.ProductionChangedEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TownhallRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KingdomSnapshotServiceTest {
+
+  private KingdomSnapshotService kingdomSnapshotService;
+  private TownhallRepository townhallRepositoryMock;
+
+  @Before
+  public void init() {
+    townhallRepositoryMock = Mockito.mock(TownhallRepository.class);
+    kingdomSnapshotService = new KingdomSnapshotService(2, townhallRepositoryMock);
+
+    Kingdom kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    kingdom.setId(1L);
+    Townhall townhall = new Townhall(kingdom);
+    townhall.setId(5L);
+    when(townhallRepositoryMock.findTownhallsByKingdom_Id(anyLong()))
+        .thenReturn(new ArrayList<>(Collections.singletonList(townhall)));
+  }
+
+  @Test
+  public void findSnapshotShouldNotQueryAgain_when_snapshotIsCached() {
+    KingdomSnapshot snapshot = kingdomSnapshotService.findSnapshot(1L);
+
+    assertSame(snapshot, kingdomSnapshotService.findSnapshot(1L));
+    assertEquals(Long.valueOf(5L), snapshot.getTownhallId());
+    assertEquals(1, snapshot.getTownhallLevel());
+    verify(townhallRepositoryMock, times(1)).findTownhallsByKingdom_Id(1L);
+  }
+
+  @Test
+  public void findSnapshotShouldReload_when_productionChanged() {
+    KingdomSnapshot snapshot = kingdomSnapshotService.findSnapshot(1L);
+    kingdomSnapshotService.onProductionChanged(new ProductionChangedEvent(1L));
+
+    KingdomSnapshot reloadedSnapshot = kingdomSnapshotService.findSnapshot(1L);
+
+    assertEquals(snapshot.getTownhallLevel(), reloadedSnapshot.getTownhallLevel());
+    verify(townhallRepositoryMock, times(2)).findTownhallsByKingdom_Id(1L);
+  }
+
+  @Test
+  public void findSnapshotShouldEvictLeastRecentlyUsed_when_cacheIsFull() {
+    kingdomSnapshotService.findSnapshot(1L);
+    kingdomSnapshotService.findSnapshot(2L);
+    kingdomSnapshotService.findSnapshot(1L);
+    kingdomSnapshotService.findSnapshot(3L);
+    kingdomSnapshotService.findSnapshot(1L);
+    kingdomSnapshotService.findSnapshot(2L);
+
+    assertEquals(2, kingdomSnapshotService.size());
+    verify(townhallRepositoryMock, times(1)).findTownhallsByKingdom_Id(1L);
+    verify(townhallRepositoryMock, times(2)).findTownhallsByKingdom_Id(2L);
+  }
+
+  @Test
+  public void findSnapshotShouldReturnNull_when_kingdomIsNotMaterialized() {
+    when(townhallRepositoryMock.findTownhallsByKingdom_Id(4L)).thenReturn(new ArrayList<>());
+
+    assertNull(kingdomSnapshotService.findSnapshot(4L));
+    assertNull(kingdomSnapshotService.findSnapshot(4L));
+    assertEquals(0, kingdomSnapshotService.size());
+    verify(townhallRepositoryMock, times(2)).findTownhallsByKingdom_Id(4L);
+  }
+
+}
@@ -0,0 +1,51 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.KingdomsDeletedEvent;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KingdomTeardownServiceTest {
+
+  private KingdomRepository kingdomRepositoryMock = Mockito.mock(KingdomRepository.class);
+  private KingdomDeletionService kingdomDeletionServiceMock = Mockito.mock(KingdomDeletionService.class);
+  private ApplicationEventPublisher eventPublisherMock = Mockito.mock(ApplicationEventPublisher.class);
+
+  private KingdomTeardownService kingdomTeardownService = new KingdomTeardownService(true, 2, 90,
+      kingdomRepositoryMock, kingdomDeletionServiceMock, eventPublisherMock);
+
+  @Test
+  public void purgeAbandonedKingdomsShouldDeleteInChunks_when_manyKingdomsAreAbandoned() {
+    ArrayList<Long> firstChunk = new ArrayList<>(Arrays.asList(1L, 2L));
+    ArrayList<Long> secondChunk = new ArrayList<>(Arrays.asList(5L));
+    when(kingdomRepositoryMock.findAbandonedKingdomIds(any(), any()))
+        .thenReturn(firstChunk, secondChunk, new ArrayList<>());
+    when(kingdomDeletionServiceMock.deleteKingdoms(firstChunk)).thenReturn(2);
+    when(kingdomDeletionServiceMock.deleteKingdoms(secondChunk)).thenReturn(1);
+
+    assertEquals(3, kingdomTeardownService.purgeAbandonedKingdoms(LocalDateTime.now()));
+    verify(kingdomDeletionServiceMock).deleteKingdoms(firstChunk);
+    verify(kingdomDeletionServiceMock).deleteKingdoms(secondChunk);
+    verify(eventPublisherMock, times(2)).publishEvent(any(KingdomsDeletedEvent.class));
+  }
+
+  @Test
+  public void deleteKingdomShouldReturnFalse_when_kingdomIsAlreadyDeleted() {
+    when(kingdomDeletionServiceMock.deleteKingdoms(any())).thenReturn(0);
+
+    assertFalse(kingdomTeardownService.deleteKingdom(7L));
+  }
+
+}
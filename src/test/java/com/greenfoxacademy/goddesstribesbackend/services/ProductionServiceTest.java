@@ -0,0 +1,278 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingCatalog;
+import com.greenfoxacademy.goddesstribesbackend.models.BuildingTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.RateTimeline;
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.TransactionReasonENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.BuildingUpgradeSummaryDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.dtos.ResourcesDTO;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Barrack;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Building;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Farm;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Mine;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Resource;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceTransaction;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Townhall;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductionServiceTest {
+
+  private static ProductionService productionService;
+
+  private static BuildingService buildingServiceMock = Mockito.mock(BuildingService.class);
+  private static ResourceService resourceServiceMock = Mockito.mock(ResourceService.class);
+  private static RateService rateServiceMock = Mockito.mock(RateService.class);
+  private static ResourceLedger resourceLedgerMock = Mockito.mock(ResourceLedger.class);
+
+  private static Townhall townhall;
+
+  @BeforeClass
+  public static void init() {
+    productionService = new ProductionService(buildingServiceMock, resourceServiceMock,
+                                              rateServiceMock, new RetryService(3, 0), resourceLedgerMock,
+                                              Mockito.mock(StarterKingdomService.class));
+    Kingdom kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    townhall = new Townhall(kingdom);
+  }
+
+  @Test
+  public void calculateCurrentAmountShouldAddProduction_when_belowCapacity() {
+    LocalDateTime now = LocalDateTime.now();
+    Resource gold = new Resource(ResourceTypeENUM.GOLD, 100, townhall);
+    gold.setUpdateTime(now.minusMinutes(3));
+
+    assertEquals(130, productionService.calculateCurrentAmount(gold, createRateTimeline(10, 10), now));
+  }
+
+  @Test
+  public void calculateCurrentAmountShouldStopAtCapacity_when_capacityIsReached() {
+    LocalDateTime now = LocalDateTime.now();
+    Resource food = new Resource(ResourceTypeENUM.FOOD, 990, townhall);
+    food.setUpdateTime(now.minusMinutes(5));
+
+    assertEquals(townhall.getFoodCapacity(), productionService.calculateCurrentAmount(food, createRateTimeline(10, 10), now));
+  }
+
+  @Test
+  public void createResourcesDTOShouldNotSaveResources_when_resourcesAreListed() {
+    Resource food = new Resource(ResourceTypeENUM.FOOD, 50, townhall);
+    Resource gold = new Resource(ResourceTypeENUM.GOLD, 100, townhall);
+
+    when(resourceServiceMock.findKingdomResources(anyLong())).thenReturn(new ArrayList<>(Arrays.asList(gold, food)));
+    when(rateServiceMock.createRateTimeline(any(Kingdom.class), any())).thenReturn(createRateTimeline(10, 10));
+
+    ResourcesDTO resourcesDTO = productionService.createResourcesDTO(1L);
+
+    assertEquals(ResourceTypeENUM.FOOD, resourcesDTO.getResources().get(0).getType());
+    assertEquals(ResourceTypeENUM.GOLD, resourcesDTO.getResources().get(1).getType());
+    verify(resourceServiceMock, never()).save(any());
+    verify(resourceServiceMock, never()).save(any(), anyInt(), any());
+    verify(resourceServiceMock, never()).saveAll(any(), any());
+  }
+
+  @Test
+  public void updateResourcesShouldRecordProductionAndUpkeepSeparately_when_foodIsSettled() {
+    Resource food = new Resource(ResourceTypeENUM.FOOD, 100, townhall);
+    food.setUpdateTime(LocalDateTime.now().minusMinutes(10));
+    Map<ResourceTypeENUM, Integer> upkeepRates = new EnumMap<>(ResourceTypeENUM.class);
+    upkeepRates.put(ResourceTypeENUM.FOOD, -4);
+
+    ResourceService resourceService = Mockito.mock(ResourceService.class);
+    RateService rateService = Mockito.mock(RateService.class);
+    ProductionService settlingProductionService = new ProductionService(buildingServiceMock, resourceService,
+        rateService, new RetryService(3, 0), resourceLedgerMock, Mockito.mock(StarterKingdomService.class));
+
+    when(resourceService.findKingdomResources(2L)).thenReturn(new ArrayList<>(Arrays.asList(food)));
+    when(rateService.createRateTimeline(any(Kingdom.class), any())).thenReturn(createRateTimeline(6, 0));
+    when(rateService.createUpkeepTimeline(any(Kingdom.class), any()))
+        .thenReturn(new RateTimeline(upkeepRates, new ArrayList<>()));
+
+    settlingProductionService.updateResources(2L);
+
+    ArgumentCaptor<List> transactionsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(resourceService).saveAll(eq(Arrays.asList(food)), transactionsCaptor.capture());
+    List<ResourceTransaction> transactions = transactionsCaptor.getValue();
+    assertEquals(2, transactions.size());
+    assertEquals(TransactionReasonENUM.PRODUCTION, transactions.get(0).getReason());
+    assertEquals(100, transactions.get(0).getAmount());
+    assertEquals(TransactionReasonENUM.UPKEEP, transactions.get(1).getReason());
+    assertEquals(-40, transactions.get(1).getAmount());
+    assertEquals(160, food.getAmount());
+  }
+
+  @Test
+  public void calculateDepletionTimeShouldUseFreshRates_when_loadedKingdomIsStale() {
+    Resource food = new Resource(ResourceTypeENUM.FOOD, 100, townhall);
+    ResourceService resourceService = Mockito.mock(ResourceService.class);
+    RateService rateService = Mockito.mock(RateService.class);
+    ProductionService depletingProductionService = new ProductionService(buildingServiceMock, resourceService,
+        rateService, new RetryService(3, 0), resourceLedgerMock, Mockito.mock(StarterKingdomService.class));
+
+    when(resourceService.findKingdomResources(3L)).thenReturn(new ArrayList<>(Arrays.asList(food)));
+    when(rateService.createRateTimeline(any(Kingdom.class), any())).thenReturn(createRateTimeline(10, 0));
+    when(rateService.createRateTimeline(eq(3L), any())).thenReturn(createRateTimeline(-10, 0));
+
+    LocalDateTime depletionTime = depletingProductionService.calculateDepletionTime(3L, ResourceTypeENUM.FOOD);
+
+    assertTrue(depletionTime.isAfter(LocalDateTime.now().plusMinutes(9)));
+    assertTrue(depletionTime.isBefore(LocalDateTime.now().plusMinutes(11)));
+  }
+
+  @Test
+  public void onCompletionShouldPublishProductionChange_when_buildingIsCompleted() {
+    productionService.onCompletion(new CompletionEvent(CompletionTypeENUM.BUILDING, 4L, 5L, LocalDateTime.now()));
+
+    verify(resourceServiceMock).findKingdomResources(5L);
+    verify(rateServiceMock).publishProductionChange(5L);
+  }
+
+  @Test
+  public void purchaseBuildingShouldNotCreateBuilding_when_goldCannotBeDebited() {
+    Kingdom kingdom = townhall.getKingdom();
+
+    when(buildingServiceMock.findCreationCost(any(), eq("farm"))).thenReturn(100);
+    when(resourceServiceMock.spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 100,
+        TransactionReasonENUM.BUILDING_COST)).thenReturn(false);
+
+    assertNull(productionService.purchaseBuilding(kingdom, "farm"));
+    verify(buildingServiceMock, never()).createBuilding(any(), eq(kingdom), eq("farm"));
+  }
+
+  @Test
+  public void purchaseShouldRefundLedgerGold_when_transactionRollsBack() {
+    ResourceLedger resourceLedger = Mockito.mock(ResourceLedger.class);
+    ProductionService ledgerProductionService = new ProductionService(buildingServiceMock, resourceServiceMock,
+        rateServiceMock, new RetryService(3, 0), resourceLedger, Mockito.mock(StarterKingdomService.class));
+
+    when(resourceLedger.isEnabled()).thenReturn(true);
+    when(resourceLedger.spend(7L, ResourceTypeENUM.GOLD, 100)).thenReturn(true);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      assertEquals("farm", ledgerProductionService.purchase(7L, 100, TransactionReasonENUM.BUILDING_COST, () -> "farm"));
+      verify(resourceLedger, never()).credit(anyLong(), any(), anyInt());
+
+      for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(resourceLedger).credit(7L, ResourceTypeENUM.GOLD, 100);
+  }
+
+  @Test
+  public void purchaseBuildingsShouldDebitTotalCostOnce_when_batchIsCreated() {
+    Kingdom kingdom = townhall.getKingdom();
+    List<String> types = Arrays.asList("mine", "farm", "barrack");
+    ArrayList<Building> buildings = new ArrayList<>(Arrays.asList(new Mine(kingdom), new Farm(kingdom), new Barrack(kingdom)));
+
+    when(buildingServiceMock.calculateCreationCost(any(), eq(types))).thenReturn(750);
+    when(resourceServiceMock.spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 750,
+        TransactionReasonENUM.BUILDING_COST)).thenReturn(true);
+    when(buildingServiceMock.createBuildings(any(), eq(kingdom), eq(types))).thenReturn(buildings);
+
+    assertEquals(buildings, productionService.purchaseBuildings(kingdom, types));
+    verify(resourceServiceMock).spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 750,
+        TransactionReasonENUM.BUILDING_COST);
+  }
+
+  @Test
+  public void purchaseBuildingsShouldNotCreateBuildings_when_goldCannotBeDebited() {
+    Kingdom kingdom = townhall.getKingdom();
+    List<String> types = Arrays.asList("farm", "farm");
+
+    when(buildingServiceMock.calculateCreationCost(any(), eq(types))).thenReturn(500);
+    when(resourceServiceMock.spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 500,
+        TransactionReasonENUM.BUILDING_COST)).thenReturn(false);
+
+    assertNull(productionService.purchaseBuildings(kingdom, types));
+    verify(buildingServiceMock, never()).createBuildings(any(), eq(kingdom), eq(types));
+  }
+
+  @Test
+  public void purchaseBuildingUpgradeShouldApplyUpgrade_when_pricedFromTheSameCatalog() {
+    BuildingService buildingService = Mockito.mock(BuildingService.class);
+    ResourceService resourceService = Mockito.mock(ResourceService.class);
+    ProductionService upgradingProductionService = new ProductionService(buildingService, resourceService,
+        rateServiceMock, new RetryService(3, 0), Mockito.mock(ResourceLedger.class),
+        Mockito.mock(StarterKingdomService.class));
+    BuildingCatalog catalog = new BuildingCatalogService("").getCatalog();
+    Kingdom kingdom = townhall.getKingdom();
+    Farm farm = new Farm(kingdom);
+    farm.setId(7L);
+
+    when(buildingService.findCatalog()).thenReturn(catalog);
+    when(buildingService.findUpgradeCost(catalog, BuildingTypeENUM.FARM, 2)).thenReturn(100);
+    when(resourceService.spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 100,
+        TransactionReasonENUM.BUILDING_COST)).thenReturn(true);
+    when(buildingService.upgradeProductionBuilding(catalog, kingdom.getId(), 7L, 2)).thenReturn(farm);
+
+    assertEquals(farm, upgradingProductionService.purchaseBuildingUpgrade(kingdom, farm, 2));
+    verify(buildingService, times(1)).findCatalog();
+    verify(buildingService).upgradeProductionBuilding(catalog, kingdom.getId(), 7L, 2);
+  }
+
+  @Test
+  public void purchaseBuildingUpgradesShouldDebitLockedBuildingsOnly_when_someBuildingsChangedConcurrently() {
+    BuildingService buildingService = Mockito.mock(BuildingService.class);
+    ResourceService resourceService = Mockito.mock(ResourceService.class);
+    ProductionService upgradingProductionService = new ProductionService(buildingService, resourceService,
+        rateServiceMock, new RetryService(3, 0), Mockito.mock(ResourceLedger.class),
+        Mockito.mock(StarterKingdomService.class));
+    BuildingCatalog catalog = new BuildingCatalogService("").getCatalog();
+    Kingdom kingdom = townhall.getKingdom();
+    List<Long> buildingIds = Arrays.asList(4L, 5L, 6L);
+    ArrayList<Long> lockedBuildingIds = new ArrayList<>(Arrays.asList(4L, 6L));
+    BuildingUpgradeSummaryDTO summary = new BuildingUpgradeSummaryDTO(BuildingTypeENUM.FARM, 2, 2, 200, null);
+
+    when(buildingService.findCatalog()).thenReturn(catalog);
+    when(buildingService.findUpgradeCost(catalog, BuildingTypeENUM.FARM, 2)).thenReturn(100);
+    when(buildingService.lockUpgradableBuildingIds(buildingIds, 2)).thenReturn(lockedBuildingIds);
+    when(resourceService.spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 200,
+        TransactionReasonENUM.BUILDING_COST)).thenReturn(true);
+    when(buildingService.upgradeBuildings(catalog, kingdom, BuildingTypeENUM.FARM, 2, lockedBuildingIds, 100))
+        .thenReturn(summary);
+
+    assertEquals(summary, upgradingProductionService.purchaseBuildingUpgrades(kingdom, BuildingTypeENUM.FARM, 2, buildingIds));
+    verify(resourceService).spendResource(kingdom.getId(), ResourceTypeENUM.GOLD, 200, TransactionReasonENUM.BUILDING_COST);
+  }
+
+  private RateTimeline createRateTimeline(int foodRate, int goldRate) {
+    Map<ResourceTypeENUM, Integer> targetRates = new EnumMap<>(ResourceTypeENUM.class);
+    targetRates.put(ResourceTypeENUM.FOOD, foodRate);
+    targetRates.put(ResourceTypeENUM.GOLD, goldRate);
+    return new RateTimeline(targetRates, new ArrayList<>());
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResourceLedgerJournalTest {
+
+  @Test
+  public void readLatestRecordsShouldReturnLastRecordPerKingdom_when_journalIsRotated() throws IOException {
+    Path journalPath = Files.createTempDirectory("ledger").resolve("resource-ledger.journal");
+    ResourceLedgerJournal journal = new ResourceLedgerJournal(journalPath.toString(), false);
+    LocalDateTime now = LocalDateTime.now();
+
+    journal.open();
+    journal.append(createRecord(1L, now.minusMinutes(2), 100));
+    journal.rotate();
+    journal.append(createRecord(1L, now, 60));
+    journal.append(createRecord(2L, now, 250));
+    journal.close();
+
+    Map<Long, ResourceLedgerJournal.Record> records = journal.readLatestRecords();
+
+    assertEquals(2, records.size());
+    assertEquals(60.0, records.get(1L).getAmounts().get(ResourceTypeENUM.GOLD), 0.0);
+    assertEquals(now, records.get(1L).getAsOf());
+  }
+
+  @Test
+  public void readLatestRecordsShouldSkipTornRecord_when_lastLineIsIncomplete() throws IOException {
+    Path journalPath = Files.createTempDirectory("ledger").resolve("resource-ledger.journal");
+    ResourceLedgerJournal journal = new ResourceLedgerJournal(journalPath.toString(), false);
+    LocalDateTime now = LocalDateTime.now();
+
+    journal.open();
+    journal.append(createRecord(1L, now.minusMinutes(1), 100));
+    journal.close();
+    Files.write(journalPath, ("1;" + now + ";FOOD=50.0;GOLD=1").getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    Map<Long, ResourceLedgerJournal.Record> records = journal.readLatestRecords();
+
+    assertEquals(100.0, records.get(1L).getAmounts().get(ResourceTypeENUM.GOLD), 0.0);
+  }
+
+  private ResourceLedgerJournal.Record createRecord(Long kingdomId, LocalDateTime asOf, double gold) {
+    Map<ResourceTypeENUM, Double> amounts = new EnumMap<>(ResourceTypeENUM.class);
+    amounts.put(ResourceTypeENUM.FOOD, 50.0);
+    amounts.put(ResourceTypeENUM.GOLD, gold);
+    return new ResourceLedgerJournal.Record(kingdomId, asOf, amounts);
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.ResourceTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.ResourceSnapshot;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceSnapshotRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.ResourceTransactionRepository;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceSnapshotServiceTest {
+
+  private static ResourceSnapshotService resourceSnapshotService;
+
+  private static ResourceSnapshotRepository resourceSnapshotRepositoryMock = Mockito.mock(ResourceSnapshotRepository.class);
+  private static ResourceTransactionRepository resourceTransactionRepositoryMock = Mockito.mock(ResourceTransactionRepository.class);
+
+  @BeforeClass
+  public static void init() {
+    resourceSnapshotService = new ResourceSnapshotService(0, resourceSnapshotRepositoryMock,
+                                                          resourceTransactionRepositoryMock);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void takeSnapshotsShouldAddTransactionsToPreviousSnapshot_when_newTransactionsExist() {
+    when(resourceSnapshotRepositoryMock.findLastSnapshotTransactionId()).thenReturn(10L);
+    when(resourceTransactionRepositoryMock.findLastTransactionIdBefore(any())).thenReturn(15L);
+    when(resourceTransactionRepositoryMock.sumAmountsBetween(10L, 15L)).thenReturn(new ArrayList<>(
+        Collections.singletonList(new Object[]{1L, ResourceTypeENUM.GOLD, -250L})));
+    when(resourceSnapshotRepositoryMock.findLatestSnapshots(any())).thenReturn(new ArrayList<>(
+        Collections.singletonList(new ResourceSnapshot(1L, ResourceTypeENUM.GOLD, 400, 8))));
+
+    assertEquals(1, resourceSnapshotService.takeSnapshots());
+
+    ArgumentCaptor<List> snapshotsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(resourceSnapshotRepositoryMock).saveAll(snapshotsCaptor.capture());
+    ResourceSnapshot snapshot = (ResourceSnapshot) snapshotsCaptor.getValue().get(0);
+    assertEquals(150, snapshot.getAmount());
+    assertEquals(15, snapshot.getLastTransactionId());
+  }
+
+  @Test
+  public void calculateBalanceShouldReplayTransactionsAfterSnapshot_when_snapshotExists() {
+    when(resourceSnapshotRepositoryMock.findFirstByKingdomIdAndTypeOrderByLastTransactionIdDesc(anyLong(), any()))
+        .thenReturn(Optional.of(new ResourceSnapshot(2L, ResourceTypeENUM.FOOD, 300, 20)));
+    when(resourceTransactionRepositoryMock.sumAmountsAfter(eq(2L), any(), eq(20L))).thenReturn(-40L);
+
+    assertEquals(260, resourceSnapshotService.calculateBalance(2L, ResourceTypeENUM.FOOD));
+  }
+
+}
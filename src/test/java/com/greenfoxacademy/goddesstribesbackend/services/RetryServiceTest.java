@@ -0,0 +1,66 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RetryServiceTest {
+
+  private static RetryService retryService;
+
+  @BeforeClass
+  public static void init() {
+    retryService = new RetryService(3, 1);
+  }
+
+  @Test
+  public void retryOnConflictShouldReturnResult_when_conflictIsResolvedWithinAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = retryService.retryOnConflict(() -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new OptimisticLockingFailureException("conflict");
+      }
+      return "saved";
+    });
+
+    assertEquals("saved", result);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void retryOnConflictShouldRethrow_when_attemptsAreExhausted() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    try {
+      retryService.retryOnConflict(() -> {
+        attempts.incrementAndGet();
+        throw new OptimisticLockingFailureException("conflict");
+      });
+      fail("Expected OptimisticLockingFailureException");
+    } catch (OptimisticLockingFailureException e) {
+      assertEquals(3, attempts.get());
+    }
+  }
+
+  @Test
+  public void retryOnConflictShouldNotRetry_when_otherExceptionIsThrown() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    try {
+      retryService.retryOnConflict(() -> {
+        attempts.incrementAndGet();
+        throw new IllegalArgumentException("invalid");
+      });
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals(1, attempts.get());
+    }
+  }
+
+}
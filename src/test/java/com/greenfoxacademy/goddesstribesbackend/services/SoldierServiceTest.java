@@ -0,0 +1,174 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Soldier;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BarrackRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.SoldierRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SoldierServiceTest {
+
+  private SoldierService soldierService;
+  private SoldierRepository soldierRepositoryMock;
+  private KingdomRepository kingdomRepositoryMock;
+  private RateService rateServiceMock;
+  private Kingdom kingdom;
+
+  @Before
+  public void init() {
+    soldierRepositoryMock = Mockito.mock(SoldierRepository.class);
+    kingdomRepositoryMock = Mockito.mock(KingdomRepository.class);
+    rateServiceMock = Mockito.mock(RateService.class);
+    soldierService = new SoldierService(soldierRepositoryMock, Mockito.mock(BarrackRepository.class),
+                                        kingdomRepositoryMock, rateServiceMock, Mockito.mock(ProductionService.class),
+                                        Mockito.mock(CompletionService.class));
+    kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    kingdom.setId(1L);
+  }
+
+  @Test
+  public void saveTrainedSoldiersShouldGrowIdleStack_when_stackOfSameLevelExists() {
+    LocalDateTime finishedAt = LocalDateTime.now();
+    Soldier idleStack = new Soldier(kingdom, 9000, finishedAt.minusDays(1), finishedAt.minusHours(1));
+    idleStack.setId(3L);
+
+    when(soldierRepositoryMock.findFirstByKingdom_IdAndLevelAndFinishedAtLessThanEqualOrderByIdAsc(1L, 1, finishedAt))
+        .thenReturn(Optional.of(idleStack));
+    when(soldierRepositoryMock.addSoldiers(3L, 1000)).thenReturn(1);
+
+    assertEquals(idleStack, soldierService.saveTrainedSoldiers(kingdom, 1000, finishedAt.minusMinutes(1000), finishedAt));
+    verify(soldierRepositoryMock, never()).save(any());
+    verify(kingdomRepositoryMock).addArmy(1L, 1000, Soldier.calculatePower(1, 1000));
+  }
+
+  @Test
+  public void upgradeSoldiersShouldMovePartOfStackAndRaiseUpkeep_when_stackHasEnoughSoldiers() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier stack = new Soldier(kingdom, 500, finishedAt, finishedAt);
+    stack.setId(3L);
+
+    when(soldierRepositoryMock.removeSoldiers(eq(3L), eq(1), eq(300), any())).thenReturn(1);
+    when(soldierRepositoryMock.save(any())).thenAnswer(i -> i.getArgument(0));
+
+    Soldier upgradedStack = soldierService.upgradeSoldiers(stack, 2, 300);
+
+    ArgumentCaptor<Soldier> savedStack = ArgumentCaptor.forClass(Soldier.class);
+    verify(soldierRepositoryMock).save(savedStack.capture());
+    assertEquals(upgradedStack, savedStack.getValue());
+    assertEquals(2, savedStack.getValue().getLevel());
+    assertEquals(300, savedStack.getValue().getQuantity());
+    verify(soldierRepositoryMock).deleteIfEmpty(3L);
+    verify(rateServiceMock).addUpkeepRate(eq(kingdom),
+        eq((Soldier.calculateConsumptionRate(2) - Soldier.calculateConsumptionRate(1)) * 300), any());
+  }
+
+  @Test
+  public void upgradeSoldiersShouldDeferPowerDelta_when_upgradeIsStillRunning() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier stack = new Soldier(kingdom, 500, finishedAt, finishedAt);
+    stack.setId(3L);
+
+    when(soldierRepositoryMock.removeSoldiers(eq(3L), eq(1), eq(300), any())).thenReturn(1);
+    when(soldierRepositoryMock.save(any())).thenAnswer(i -> i.getArgument(0));
+
+    Soldier upgradedStack = soldierService.upgradeSoldiers(stack, 2, 300);
+
+    assertEquals(Soldier.calculatePower(2, 300) - Soldier.calculatePower(1, 300), upgradedStack.getPendingPower());
+    verify(kingdomRepositoryMock, never()).addArmy(anyLong(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void onCompletionShouldBookPowerDelta_when_upgradeFinished() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusMinutes(1);
+    Soldier upgradedStack = new Soldier(kingdom, 2, 300, finishedAt.minusMinutes(1), finishedAt);
+    upgradedStack.setId(8L);
+    long powerDelta = Soldier.calculatePower(2, 300) - Soldier.calculatePower(1, 300);
+    upgradedStack.setPendingPower(powerDelta);
+
+    when(soldierRepositoryMock.findById(8L)).thenReturn(Optional.of(upgradedStack));
+    when(soldierRepositoryMock.clearPendingPower(eq(8L), eq(powerDelta), any())).thenReturn(1);
+    when(soldierRepositoryMock.findFirstByKingdom_IdAndLevelAndIdNotAndFinishedAtLessThanEqualOrderByIdAsc(
+        eq(1L), eq(2), eq(8L), any())).thenReturn(Optional.empty());
+
+    soldierService.onCompletion(new CompletionEvent(CompletionTypeENUM.SOLDIER, 8L, 1L, finishedAt));
+
+    verify(kingdomRepositoryMock).addArmy(1L, 0, powerDelta);
+  }
+
+  @Test
+  public void onCompletionShouldNotBookPowerDeltaTwice_when_completionIsReplayed() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusMinutes(1);
+    Soldier upgradedStack = new Soldier(kingdom, 2, 300, finishedAt.minusMinutes(1), finishedAt);
+    upgradedStack.setId(8L);
+    upgradedStack.setPendingPower(Soldier.calculatePower(2, 300) - Soldier.calculatePower(1, 300));
+
+    when(soldierRepositoryMock.findById(8L)).thenReturn(Optional.of(upgradedStack));
+    when(soldierRepositoryMock.clearPendingPower(anyLong(), anyLong(), any())).thenReturn(0);
+    when(soldierRepositoryMock.findFirstByKingdom_IdAndLevelAndIdNotAndFinishedAtLessThanEqualOrderByIdAsc(
+        eq(1L), eq(2), eq(8L), any())).thenReturn(Optional.empty());
+
+    soldierService.onCompletion(new CompletionEvent(CompletionTypeENUM.SOLDIER, 8L, 1L, finishedAt));
+
+    verify(kingdomRepositoryMock, never()).addArmy(anyLong(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void desertSoldiersShouldSplitStack_when_partOfStackCoversDeficit() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusHours(1);
+    Soldier veterans = new Soldier(kingdom, 3, 100, finishedAt, finishedAt);
+    veterans.setId(4L);
+    Soldier recruits = new Soldier(kingdom, 1, 5000, finishedAt, finishedAt);
+    recruits.setId(5L);
+
+    when(soldierRepositoryMock.findSoldiersByKingdom_IdAndFinishedAtBeforeOrderByConsumptionRateDesc(anyLong(), any()))
+        .thenReturn(new ArrayList<>(Arrays.asList(veterans, recruits)));
+    when(soldierRepositoryMock.removeSoldiers(eq(4L), eq(3), anyInt(), any())).thenReturn(1);
+
+    assertEquals(4, soldierService.desertSoldiers(1L, 10));
+    verify(soldierRepositoryMock).removeSoldiers(eq(4L), eq(3), eq(4), any());
+    verify(soldierRepositoryMock, never()).removeSoldiers(eq(5L), anyInt(), anyInt(), any());
+    verify(rateServiceMock).addUpkeepRate(eq(kingdom), eq(-12), any());
+    verify(kingdomRepositoryMock).addArmy(1L, -4, -Soldier.calculatePower(3, 4));
+  }
+
+  @Test
+  public void onCompletionShouldKeepUpgradedStack_when_idleStackWasRemovedConcurrently() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusMinutes(1);
+    Soldier upgradedStack = new Soldier(kingdom, 2, 50, finishedAt.minusMinutes(5), finishedAt);
+    upgradedStack.setId(8L);
+    Soldier idleStack = new Soldier(kingdom, 2, 100, finishedAt.minusDays(1), finishedAt.minusHours(1));
+    idleStack.setId(3L);
+
+    when(soldierRepositoryMock.findById(8L)).thenReturn(Optional.of(upgradedStack));
+    when(soldierRepositoryMock.findFirstByKingdom_IdAndLevelAndIdNotAndFinishedAtLessThanEqualOrderByIdAsc(
+        eq(1L), eq(2), eq(8L), any())).thenReturn(Optional.of(idleStack));
+    when(soldierRepositoryMock.addSoldiers(3L, 50)).thenReturn(0);
+
+    soldierService.onCompletion(new CompletionEvent(CompletionTypeENUM.SOLDIER, 8L, 1L, finishedAt));
+
+    verify(soldierRepositoryMock, never()).removeSoldiers(anyLong(), anyInt(), anyInt(), any());
+    verify(soldierRepositoryMock, never()).deleteIfEmpty(anyLong());
+  }
+
+}
@@ -0,0 +1,124 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionEvent;
+import com.greenfoxacademy.goddesstribesbackend.models.CompletionTypeENUM;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Barrack;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.Kingdom;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.TrainingOrder;
+import com.greenfoxacademy.goddesstribesbackend.models.entities.User;
+import com.greenfoxacademy.goddesstribesbackend.repositories.BarrackRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.KingdomRepository;
+import com.greenfoxacademy.goddesstribesbackend.repositories.TrainingOrderRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TrainingServiceTest {
+
+  private TrainingService trainingService;
+  private TrainingOrderRepository trainingOrderRepositoryMock;
+  private BarrackRepository barrackRepositoryMock;
+  private KingdomRepository kingdomRepositoryMock;
+  private SoldierService soldierServiceMock;
+  private RateService rateServiceMock;
+  private ProductionService productionServiceMock;
+  private CompletionService completionServiceMock;
+  private Kingdom kingdom;
+
+  @Before
+  public void init() {
+    trainingOrderRepositoryMock = Mockito.mock(TrainingOrderRepository.class);
+    barrackRepositoryMock = Mockito.mock(BarrackRepository.class);
+    kingdomRepositoryMock = Mockito.mock(KingdomRepository.class);
+    soldierServiceMock = Mockito.mock(SoldierService.class);
+    rateServiceMock = Mockito.mock(RateService.class);
+    productionServiceMock = Mockito.mock(ProductionService.class);
+    completionServiceMock = Mockito.mock(CompletionService.class);
+    trainingService = new TrainingService(5, 1000, trainingOrderRepositoryMock, barrackRepositoryMock,
+                                          kingdomRepositoryMock, soldierServiceMock, rateServiceMock,
+                                          productionServiceMock, completionServiceMock);
+    kingdom = new Kingdom("Tündérország", new User("Juliska", "jancsi123"));
+    kingdom.setId(1L);
+    when(kingdomRepositoryMock.lockKingdom(1L)).thenReturn(Optional.of(kingdom));
+  }
+
+  @Test
+  public void purchaseTrainingShouldSpreadOrderAcrossBarracks_when_previousOrderIsStillRunning() {
+    LocalDateTime previousFinishedAt = LocalDateTime.now().plusMinutes(30);
+    TrainingOrder previousOrder = new TrainingOrder(kingdom, 30, 300, previousFinishedAt.minusMinutes(30), previousFinishedAt);
+    Barrack firstBarrack = new Barrack(kingdom, LocalDateTime.now().minusHours(1));
+    firstBarrack.setLevel(2);
+    Barrack secondBarrack = new Barrack(kingdom, LocalDateTime.now().minusHours(1));
+
+    when(trainingOrderRepositoryMock.findFirstByKingdom_IdOrderByFinishedAtDesc(1L)).thenReturn(Optional.of(previousOrder));
+    when(barrackRepositoryMock.findBarracksByKingdom_Id(1L))
+        .thenReturn(new ArrayList<>(Arrays.asList(firstBarrack, secondBarrack)));
+    when(trainingOrderRepositoryMock.save(any())).thenAnswer(i -> i.getArgument(0));
+    when(productionServiceMock.purchase(eq(1L), eq(3000), any(), any()))
+        .thenAnswer(i -> i.<Supplier<TrainingOrder>>getArgument(3).get());
+
+    TrainingOrder order = trainingService.purchaseTraining(kingdom, 300);
+
+    ArgumentCaptor<TrainingOrder> savedOrder = ArgumentCaptor.forClass(TrainingOrder.class);
+    verify(trainingOrderRepositoryMock).save(savedOrder.capture());
+    assertEquals(order, savedOrder.getValue());
+    assertEquals(300, savedOrder.getValue().getQuantity());
+    assertEquals(3000, savedOrder.getValue().getCost());
+    assertEquals(previousFinishedAt, savedOrder.getValue().getStartedAt());
+    assertEquals(previousFinishedAt.plusMinutes(100), savedOrder.getValue().getFinishedAt());
+    verify(rateServiceMock).addUpkeepRate(kingdom, 300, previousFinishedAt.plusMinutes(100));
+    verify(completionServiceMock).scheduleTrainingCompletion(savedOrder.getValue());
+  }
+
+  @Test
+  public void onCompletionShouldSaveTrainedSoldiers_when_orderIsFinished() {
+    LocalDateTime finishedAt = LocalDateTime.now().minusMinutes(1);
+    TrainingOrder finishedOrder = new TrainingOrder(kingdom, 20, 200, finishedAt.minusMinutes(20), finishedAt);
+
+    when(trainingOrderRepositoryMock.findTrainingOrdersByKingdom_IdAndFinishedAtLessThanEqualOrderByIdAsc(eq(1L), any()))
+        .thenReturn(new ArrayList<>(Arrays.asList(finishedOrder)));
+
+    trainingService.onCompletion(new CompletionEvent(CompletionTypeENUM.TRAINING, 7L, 1L, finishedAt));
+
+    verify(kingdomRepositoryMock).lockKingdom(1L);
+    verify(trainingOrderRepositoryMock).delete(finishedOrder);
+    verify(soldierServiceMock).saveTrainedSoldiers(kingdom, 20, finishedOrder.getStartedAt(), finishedAt);
+  }
+
+  @Test
+  public void onCompletionShouldIgnoreEvent_when_eventIsNotTraining() {
+    trainingService.onCompletion(new CompletionEvent(CompletionTypeENUM.SOLDIER, 7L, 1L, LocalDateTime.now()));
+
+    verify(soldierServiceMock, never()).saveTrainedSoldiers(any(), anyInt(), any(), any());
+    verify(trainingOrderRepositoryMock, never())
+        .findTrainingOrdersByKingdom_IdAndFinishedAtLessThanEqualOrderByIdAsc(any(), any());
+  }
+
+  @Test
+  public void purchaseTrainingShouldNotChargeGold_when_queueFilledUpConcurrently() {
+    when(trainingOrderRepositoryMock.countTrainingOrdersByKingdom_Id(1L)).thenReturn(5);
+
+    assertNull(trainingService.purchaseTraining(kingdom, 10));
+    verify(kingdomRepositoryMock).lockKingdom(1L);
+    verify(productionServiceMock, never()).purchase(anyLong(), anyInt(), any(), any());
+    verify(trainingOrderRepositoryMock, never()).save(any());
+  }
+
+}
@@ -0,0 +1,44 @@
+package com.greenfoxacademy.goddesstribesbackend.services;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorldTickServiceTest {
+
+  private ResourceService resourceServiceMock = Mockito.mock(ResourceService.class);
+  private RateService rateServiceMock = Mockito.mock(RateService.class);
+  private ResourceLedger resourceLedgerMock = Mockito.mock(ResourceLedger.class);
+
+  @Test
+  public void tickShouldAdvanceResourcesInIdChunks_when_tickIsEnabled() {
+    WorldTickService worldTickService = new WorldTickService(true, 100, 60, resourceServiceMock,
+                                                             rateServiceMock, resourceLedgerMock);
+    when(resourceServiceMock.findLastResourceId()).thenReturn(250L);
+
+    worldTickService.tick();
+
+    verify(resourceServiceMock).advanceResources(eq(0L), eq(100L), any(), eq(60L));
+    verify(resourceServiceMock).advanceResources(eq(100L), eq(200L), any(), eq(60L));
+    verify(resourceServiceMock).advanceResources(eq(200L), eq(300L), any(), eq(60L));
+    verify(rateServiceMock).deleteConsumedRateChanges(any());
+  }
+
+  @Test
+  public void tickShouldNotTouchResources_when_ledgerHoldsBalances() {
+    WorldTickService worldTickService = new WorldTickService(true, 100, 60, resourceServiceMock,
+                                                             rateServiceMock, resourceLedgerMock);
+    when(resourceLedgerMock.isEnabled()).thenReturn(true);
+
+    worldTickService.tick();
+
+    verify(resourceServiceMock, never()).advanceResources(anyLong(), anyLong(), any(), anyLong());
+  }
+
+}